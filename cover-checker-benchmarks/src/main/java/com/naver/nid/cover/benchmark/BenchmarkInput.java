@@ -0,0 +1,106 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.benchmark;
+
+import com.naver.nid.cover.fixture.FixtureGenerator;
+import com.naver.nid.cover.jacoco.JacocoXmlCoverageReportHandler;
+import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.diff.DiffMapper;
+import com.naver.nid.cover.parser.diff.FileDiffReader;
+import com.naver.nid.cover.parser.diff.model.Diff;
+import com.naver.nid.cover.parser.diff.model.RawDiff;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 모든 벤치마크가 공유하는 입력. 파일 수, 파일당 라인 수, 추가된 라인 비율로 크기를 정한다.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkInput {
+
+	@Param({"100", "1000"})
+	public int fileCount;
+
+	@Param({"200"})
+	public int linesPerFile;
+
+	@Param({"0.1", "0.5"})
+	public double changedRatio;
+
+	Path dir;
+	File diffFile;
+	File jacocoXml;
+	File coberturaXml;
+	List<File> jacocoHtml;
+	File jacocoHtmlDir;
+
+	List<RawDiff> rawDiffs;
+	List<Diff> diffs;
+	List<FileCoverageReport> coverage;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		FixtureGenerator fixture = FixtureGenerator.builder()
+				.fileCount(fileCount)
+				.linesPerFile(linesPerFile)
+				.changedFileCount(fileCount)
+				.changedRatio(changedRatio)
+				.build();
+		dir = Files.createTempDirectory("cover-checker-benchmark");
+
+		Path diff = dir.resolve("benchmark.diff");
+		fixture.writeDiff(diff);
+		diffFile = diff.toFile();
+
+		Path jacoco = dir.resolve("jacoco.xml");
+		fixture.writeJacocoXml(jacoco);
+		jacocoXml = jacoco.toFile();
+
+		Path cobertura = dir.resolve("coverage.xml");
+		fixture.writeCoberturaXml(cobertura);
+		coberturaXml = cobertura.toFile();
+
+		jacocoHtmlDir = dir.resolve("html").toFile();
+		jacocoHtml = fixture.writeJacocoHtml(jacocoHtmlDir.toPath()).stream()
+				.map(Path::toFile)
+				.collect(Collectors.toList());
+
+		rawDiffs = new ArrayList<>(fileCount);
+		FileDiffReader reader = new FileDiffReader(diffFile.getPath());
+		while (reader.hasNext()) {
+			rawDiffs.add(reader.next());
+		}
+		diffs = rawDiffs.stream().map(DiffMapper.getDefault()).collect(Collectors.toList());
+		coverage = new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new).parse(jacocoXml);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.benchmark;
+
+import com.naver.nid.cover.cobertura.CoberturaCoverageReportHandler;
+import com.naver.nid.cover.jacoco.JacocoHtmlReportParser;
+import com.naver.nid.cover.jacoco.JacocoXmlCoverageReportHandler;
+import com.naver.nid.cover.jacoco.JacocoXmlPullParser;
+import com.naver.nid.cover.jacoco.JacocoXmlSplitParser;
+import com.naver.nid.cover.parser.coverage.CachingCoverageReportParser;
+import com.naver.nid.cover.parser.coverage.CoverageReportParser;
+import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * coverage report 형식별 파싱.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CoverageReportBenchmark {
+
+	@Benchmark
+	public List<FileCoverageReport> jacocoXml(BenchmarkInput input) {
+		return new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new).parse(input.jacocoXml);
+	}
+
+	@Benchmark
+	public List<FileCoverageReport> jacocoXmlPull(BenchmarkInput input) {
+		return new JacocoXmlPullParser().parse(input.jacocoXml);
+	}
+
+	@Benchmark
+	public List<FileCoverageReport> jacocoXmlSplit(BenchmarkInput input) {
+		return new JacocoXmlSplitParser(Runtime.getRuntime().availableProcessors()).parse(input.jacocoXml);
+	}
+
+	/**
+	 * 첫 호출(warmup)에서 cache 를 만들고 이후에는 cache 를 읽는다.
+	 */
+	@Benchmark
+	public List<FileCoverageReport> jacocoXmlCached(BenchmarkInput input) {
+		return new CachingCoverageReportParser(new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new)
+				, input.dir.resolve("cache"), Long.MAX_VALUE).parse(input.jacocoXml);
+	}
+
+	@Benchmark
+	public List<FileCoverageReport> coberturaXml(BenchmarkInput input) {
+		return new XmlCoverageReportParser(CoberturaCoverageReportHandler::new).parse(input.coberturaXml);
+	}
+
+	/**
+	 * 파일 하나씩 파싱하여 디렉토리 탐색 비용을 제외한다.
+	 */
+	@Benchmark
+	public void jacocoHtml(BenchmarkInput input, Blackhole bh) {
+		CoverageReportParser parser = new JacocoHtmlReportParser(f -> f.getName().endsWith(".java.html"));
+		for (File file : input.jacocoHtml) {
+			bh.consume(parser.parse(file));
+		}
+	}
+
+	@Benchmark
+	public List<FileCoverageReport> jacocoHtmlDirectory(BenchmarkInput input) {
+		return new JacocoHtmlReportParser(f -> f.getName().endsWith(".java.html")).parse(input.jacocoHtmlDir);
+	}
+
+	@Benchmark
+	public List<FileCoverageReport> jacocoHtmlDirectoryParallel(BenchmarkInput input) {
+		return new JacocoHtmlReportParser(f -> f.getName().endsWith(".java.html"), Runtime.getRuntime().availableProcessors())
+				.parse(input.jacocoHtmlDir);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.benchmark;
+
+import com.naver.nid.cover.parser.diff.DiffMapper;
+import com.naver.nid.cover.parser.diff.FileDiffReader;
+import com.naver.nid.cover.parser.diff.MappedFileDiffReader;
+import com.naver.nid.cover.parser.diff.model.Diff;
+import com.naver.nid.cover.parser.diff.model.RawDiff;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * diff 파일 읽기와 {@link DiffMapper} 변환, memory map 으로 읽는 {@link MappedFileDiffReader} 와의 비교
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiffBenchmark {
+
+	@Benchmark
+	public void diffMapper(BenchmarkInput input, Blackhole bh) {
+		DiffMapper mapper = DiffMapper.getDefault();
+		for (RawDiff rawDiff : input.rawDiffs) {
+			bh.consume(mapper.apply(rawDiff));
+		}
+	}
+
+	@Benchmark
+	public void diffMapperAddedLinesOnly(BenchmarkInput input, Blackhole bh) {
+		DiffMapper mapper = DiffMapper.getAddedLinesOnly();
+		for (RawDiff rawDiff : input.rawDiffs) {
+			bh.consume(mapper.apply(rawDiff));
+		}
+	}
+
+	@Benchmark
+	public void fileDiffReader(BenchmarkInput input, Blackhole bh) {
+		FileDiffReader reader = new FileDiffReader(input.diffFile.getPath());
+		while (reader.hasNext()) {
+			bh.consume(reader.next());
+		}
+	}
+
+	@Benchmark
+	public void fileDiffParse(BenchmarkInput input, Blackhole bh) {
+		try (Stream<Diff> diff = new FileDiffReader(input.diffFile.getPath()).parse()) {
+			diff.forEach(bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void parallelFileDiffParse(BenchmarkInput input, Blackhole bh) {
+		try (Stream<Diff> diff = new FileDiffReader(input.diffFile.getPath()).parse(Runtime.getRuntime().availableProcessors())) {
+			diff.forEach(bh::consume);
+		}
+	}
+
+	@Benchmark
+	public void mappedFileDiffParse(BenchmarkInput input, Blackhole bh) {
+		try (Stream<Diff> diff = new MappedFileDiffReader(input.diffFile.getPath()).parse()) {
+			diff.forEach(bh::consume);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.benchmark;
+
+import com.naver.nid.cover.checker.NewCoverageChecker;
+import com.naver.nid.cover.checker.model.NewCoverageCheckReport;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파싱된 diff 와 coverage 로 신규 코드 커버리지 계산
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewCoverageCheckerBenchmark {
+
+	private final NewCoverageChecker sequential = new NewCoverageChecker();
+	private final NewCoverageChecker parallel = new NewCoverageChecker(Runtime.getRuntime().availableProcessors());
+
+	@Benchmark
+	public NewCoverageCheckReport check(BenchmarkInput input) {
+		return sequential.check(input.coverage, input.diffs, 80, 0, "");
+	}
+
+	@Benchmark
+	public NewCoverageCheckReport parallelCheck(BenchmarkInput input) {
+		return parallel.check(input.coverage, input.diffs, 80, 0, "");
+	}
+
+	@Benchmark
+	public NewCoverageCheckReport streamingCheck(BenchmarkInput input, Blackhole bh) {
+		return sequential.check(input.coverage, input.diffs.stream(), 80, 0, "", bh::consume);
+	}
+}
@@ -18,7 +18,7 @@ package com.naver.nid.cover.cobertura;
 import com.naver.nid.cover.parser.coverage.CoverageReportXmlHandler;
 import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
-import com.naver.nid.cover.parser.coverage.model.LineCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
 import lombok.extern.slf4j.Slf4j;
 import org.xml.sax.Attributes;
 
@@ -46,7 +46,8 @@ public class CoberturaCoverageReportHandler extends CoverageReportXmlHandler {
 	private boolean isNowMethod; // 현재 메소드 내부인지
 
 	private Map<String, FileCoverageReport> reports = new HashMap<>();
-	private List<LineCoverageReport> lineReports;
+	private Map<String, LineCoverage.Builder> lineReportsByFile = new HashMap<>();
+	private LineCoverage.Builder lineReports;
 	private FileCoverageReport current;
 
 	@Override
@@ -66,7 +67,7 @@ public class CoberturaCoverageReportHandler extends CoverageReportXmlHandler {
 		if (localName.equals("")) localName = qName;
 		if (TAG_METHOD.equals(localName)) {
 			isNowMethod = false;
-		} else if (TAG_CLASS.equals(localName)) {
+		} else if (TAG_CLASS.equals(localName) && current != null) {
 			reports.put(current.getFileName(), current);
 			current = null;
 			lineReports = null;
@@ -74,14 +75,14 @@ public class CoberturaCoverageReportHandler extends CoverageReportXmlHandler {
 	}
 
 	private void initLine(Attributes attributes) {
-		if (isNowMethod) return;
-
-		LineCoverageReport lineCoverageReport = new LineCoverageReport();
-		lineCoverageReport.setStatus(getCoverageStatus(attributes));
-		lineCoverageReport.setLineNum(Integer.parseInt(attributes.getValue("number")));
-		lineCoverageReport.setLineContent("");
-		log.debug("parse line {}", lineCoverageReport);
-		lineReports.add(lineCoverageReport);
+		if (isNowMethod || lineReports == null) return;
+
+		int lineNum = Integer.parseInt(attributes.getValue("number"));
+		CoverageStatus status = getCoverageStatus(attributes);
+		if (log.isDebugEnabled()) {
+			log.debug("parse line {}({})", lineNum, status);
+		}
+		lineReports.add(lineNum, status);
 	}
 
 	/**
@@ -109,21 +110,26 @@ public class CoberturaCoverageReportHandler extends CoverageReportXmlHandler {
 		if(log.isDebugEnabled()) {
 			log.debug("parse class {}({})", attributes.getValue("name"), fileName);
 		}
+		if (!isTargetFile(fileName)) {
+			log.debug("skip class {}", fileName);
+			return;
+		}
 		if (reports.containsKey(fileName)) {
 			current = reports.get(fileName);
-			lineReports = current.getLineCoverageReportList();
+			lineReports = lineReportsByFile.get(fileName);
 		} else {
 			current = new FileCoverageReport();
-			lineReports = new ArrayList<>();
+			lineReports = LineCoverage.builder();
 
 			current.setFileName(fileName);
 			current.setType(fileName.split("\\.")[1]);
-			current.setLineCoverageReportList(lineReports);
+			lineReportsByFile.put(fileName, lineReports);
 		}
 	}
 
 	@Override
 	public List<FileCoverageReport> getReports() {
+		lineReportsByFile.forEach((fileName, lines) -> reports.get(fileName).setLineCoverage(lines.build()));
 		return new ArrayList<>(reports.values());
 	}
 }
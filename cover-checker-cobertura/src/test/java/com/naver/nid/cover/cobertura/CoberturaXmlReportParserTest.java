@@ -15,14 +15,13 @@ class CoberturaXmlReportParserTest {
 
 	@Test
 	public void parseCobertura() {
-		CoverageReportParser parser = new XmlCoverageReportParser(new CoberturaCoverageReportHandler());
+		CoverageReportParser parser = new XmlCoverageReportParser(CoberturaCoverageReportHandler::new);
 
 		List<FileCoverageReport> parsed = parser.parse(getClass().getClassLoader().getResource("reports/coverage.xml"));
 		assertEquals(1, parsed.size());
 		assertSame(CoverageStatus.COVERED, parsed.stream()
 				.filter(r -> r.getFileName().contains("CoberturaReportHandler"))
-				.findFirst().flatMap(r -> r.getLineCoverageReportList().stream()
-						.filter(lr -> lr.getLineNum() == 68).findFirst()).orElseThrow(AssertionError::new).getStatus());
+				.findFirst().map(r -> r.getLineCoverage().getStatus(68)).orElseThrow(AssertionError::new));
 
 	}
 
@@ -24,6 +24,7 @@ import com.naver.nid.cover.util.ObjectFactory;
 import com.naver.nid.cover.util.Parameter;
 import com.naver.nid.cover.util.ParameterParser;
 import com.naver.nid.cover.parser.coverage.CoverageReportParser;
+import com.naver.nid.cover.parser.coverage.model.CoverageAccumulator;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -53,20 +55,11 @@ public final class CoverChecker {
 
 	public boolean check(Parameter param) {
 		try {
-			log.info("Check new line of code coverage by {}", coverageParser.getClass().getSimpleName());
-			CompletableFuture<List<FileCoverageReport>> coverage = param.getCoveragePath().stream()
-				.map(s -> executeByBackground((Function<String, List<FileCoverageReport>>) coverageParser::parse).apply(s))
-				.reduce((f1, f2) -> f1.thenCombine(f2, (r1, r2) -> Stream.concat(r1.stream(), r2.stream()).collect(Collectors.toList())))
-				.orElseThrow(() -> new IllegalStateException("No Coverage Report"));
-
-			log.info("read diff by {}", diffParser.getClass().getSimpleName());
-			CompletableFuture<List<Diff>> diff = executeByBackground(diffParser::parse)
-					.get()
-					.thenApplyAsync(s -> s.collect(Collectors.toList()));
-
 			String baseUrl = "http://" + param.getHostname() + "/repository/download/" + param.getBuildTypeId()
 					+ "/" + param.getBuildId() + ":id/.teamcity/coverage_jacoco/coverage.zip!/";
-			NewCoverageCheckReport check = checker.check(coverage.join(), diff.join(), param.getThreshold(), param.getFileThreshold(), baseUrl);
+			NewCoverageCheckReport check = param.isStreamDiff()
+					? checkStreaming(param, baseUrl)
+					: checkCollected(param, baseUrl);
 
 			reporter.report(check);
 			log.info("check result {}", check.result());
@@ -81,8 +74,56 @@ public final class CoverChecker {
 		}
 	}
 
-	private <P, R> Function<P, CompletableFuture<R>> executeByBackground(Function<P, R> execute) {
-		return (P param) -> CompletableFuture.supplyAsync(() -> execute.apply(param));
+	private NewCoverageCheckReport checkCollected(Parameter param, String baseUrl) {
+		log.info("read diff by {}", diffParser.getClass().getSimpleName());
+		CompletableFuture<List<Diff>> diff = executeByBackground(() -> parseDiff(param))
+				.get()
+				.thenApplyAsync(s -> {
+					try (Stream<Diff> d = s) {
+						return d.collect(Collectors.toList());
+					}
+				});
+
+		// 변경된 파일의 coverage 만 읽도록 diff 결과로 filter 를 만들어 parser 에 전달
+		log.info("Check new line of code coverage by {}", coverageParser.getClass().getSimpleName());
+		CompletableFuture<Predicate<String>> fileFilter = diff.thenApply(NewCoverageChecker::changedFileFilter);
+		CompletableFuture<CoverageAccumulator> coverage = fileFilter.thenCompose(filter ->
+				parseCoverage(param, s -> coverageParser.parse(s, filter)));
+
+		return checker.check(coverage.join(), diff.join(), param.getThreshold(), param.getFileThreshold(), baseUrl);
+	}
+
+	/**
+	 * coverage 를 먼저 모두 읽은 뒤 diff 를 파일 단위로 읽으면서 비교한다.
+	 * diff 전체를 메모리에 올리지 않는 대신 변경 파일 filter 를 coverage parser 에 전달할 수 없다.
+	 */
+	private NewCoverageCheckReport checkStreaming(Parameter param, String baseUrl) {
+		log.info("Check new line of code coverage by {}", coverageParser.getClass().getSimpleName());
+		CoverageAccumulator coverage = parseCoverage(param, coverageParser::parse).join();
+
+		log.info("stream diff by {}", diffParser.getClass().getSimpleName());
+		try (Stream<Diff> diff = parseDiff(param)) {
+			return checker.check(coverage, diff, param.getThreshold(), param.getFileThreshold(), baseUrl,
+					f -> log.debug("checked {} {}%", f.getName(), f.getCoverage()));
+		}
+	}
+
+	private Stream<Diff> parseDiff(Parameter param) {
+		return param.getParallelism() > 1 ? diffParser.parse(param.getParallelism()) : diffParser.parse();
+	}
+
+	/**
+	 * report 마다 별도의 작업으로 동시에 parse 하고 끝나는 대로 파일 단위로 합친다.
+	 */
+	private CompletableFuture<CoverageAccumulator> parseCoverage(Parameter param,
+			Function<String, List<FileCoverageReport>> parse) {
+		if (param.getCoveragePath().isEmpty()) throw new IllegalStateException("No Coverage Report");
+
+		CoverageAccumulator coverage = new CoverageAccumulator();
+		CompletableFuture<?>[] reports = param.getCoveragePath().stream()
+				.map(s -> CompletableFuture.supplyAsync(() -> parse.apply(s)).thenAccept(coverage::addAll))
+				.toArray(CompletableFuture[]::new);
+		return CompletableFuture.allOf(reports).thenApply(v -> coverage);
 	}
 
 	private <R> Supplier<CompletableFuture<R>> executeByBackground(Supplier<R> execute) {
@@ -16,18 +16,35 @@
 package com.naver.nid.cover.util;
 
 import com.naver.nid.cover.github.parser.GithubDiffReader;
+import com.naver.nid.cover.parser.diff.DiffMapper;
 import com.naver.nid.cover.parser.diff.DiffParser;
 import com.naver.nid.cover.checker.NewCoverageChecker;
 import com.naver.nid.cover.github.manager.GithubPullRequestManager;
+import com.naver.nid.cover.parser.coverage.CachingCoverageReportParser;
 import com.naver.nid.cover.parser.coverage.CoverageReportParser;
 import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
 import com.naver.nid.cover.cobertura.CoberturaCoverageReportHandler;
 import com.naver.nid.cover.jacoco.JacocoReportParser;
+import com.naver.nid.cover.jacoco.exec.JacocoExecReportParser;
+import com.naver.nid.cover.jacoco.JacocoXmlPullParser;
+import com.naver.nid.cover.jacoco.JacocoXmlSplitParser;
 import com.naver.nid.cover.parser.diff.FileDiffReader;
+import com.naver.nid.cover.parser.diff.GitDiffReader;
+import com.naver.nid.cover.parser.diff.MappedFileDiffReader;
+import com.naver.nid.cover.parser.diff.PathFilter;
+import com.naver.nid.cover.parser.diff.exception.ParseException;
+import com.naver.nid.cover.parser.CompressedInputs;
 import com.naver.nid.cover.reporter.Reporter;
 import com.naver.nid.cover.reporter.ConsoleReporter;
 import com.naver.nid.cover.github.reporter.GithubPullRequestReporter;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * {@link Parameter}에 따라 내부 객체를 생성하는 Factory 객체
  */
@@ -40,23 +57,79 @@ public class ObjectFactory {
     }
 
     public DiffParser getDiffReader() {
+        DiffParser diffParser = createDiffReader();
+        diffParser.setPathFilter(PathFilter.of(param.getIncludes(), param.getExcludes()));
+        return diffParser;
+    }
+
+    private DiffParser createDiffReader() {
+        DiffMapper diffMapper = param.isAddedLinesOnly() ? DiffMapper.getAddedLinesOnly() : DiffMapper.getDefault();
         if ("file".equals(param.getDiffType())) {
-            return new FileDiffReader(param.getDiffPath());
+            return configure(new FileDiffReader(param.getDiffPath(), diffMapper));
+        } else if ("mapped".equals(param.getDiffType())) {
+            if (isGzip(param.getDiffPath())) { // 압축된 diff 는 map 할 수 없다.
+                return configure(new FileDiffReader(param.getDiffPath(), diffMapper));
+            }
+            // map 된 diff 는 라인을 모으지 않고 byte 를 바로 읽으므로 stream 설정은 필요 없다.
+            MappedFileDiffReader reader = new MappedFileDiffReader(param.getDiffPath());
+            reader.setMaxLinesPerFile(param.getMaxDiffLines());
+            return reader;
+        } else if ("git".equals(param.getDiffType())) {
+            File repository = new File(param.getDiffPath() == null ? "." : param.getDiffPath());
+            return configure(new GitDiffReader(repository, param.getGitRange(), diffMapper));
         } else {
-            return new GithubDiffReader(getPrManager());
+            // github 는 파일의 patch 전체를 API 응답으로 받으므로 라인 수 제한만 적용한다.
+            GithubDiffReader reader = new GithubDiffReader(getPrManager(), diffMapper);
+            reader.setMaxLinesPerFile(param.getMaxDiffLines());
+            return reader;
         }
     }
 
+    private boolean isGzip(String path) {
+        try {
+            return CompressedInputs.isGzip(new File(path));
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    private FileDiffReader configure(FileDiffReader reader) {
+        reader.setStreamLines(param.isStreamDiff());
+        reader.setMaxLinesPerFile(param.getMaxDiffLines());
+        return reader;
+    }
+
     public CoverageReportParser getCoverageReportParser() {
+        CoverageReportParser parser = createCoverageReportParser();
+        if (param.getCacheDir() == null) {
+            return parser;
+        }
+        // cache 는 diff 와 관계없이 쓸 수 있도록 report 전체를 저장한다. 변경 파일만 읽는 parser 는 cache 가 없을 때 더 느리고,
+        // jacoco-exec 는 class 파일에 따라 결과가 바뀌므로 cache 하지 않는다.
+        return new CachingCoverageReportParser(parser, Paths.get(param.getCacheDir()), param.getCacheSize() * 1024 * 1024);
+    }
+
+    private CoverageReportParser createCoverageReportParser() {
         if ("cobertura".equals(param.getCoverageType())) {
-            return new XmlCoverageReportParser(new CoberturaCoverageReportHandler());
+            return new XmlCoverageReportParser(CoberturaCoverageReportHandler::new);
+        } else if ("jacoco-exec".equals(param.getCoverageType())) {
+            return new JacocoExecReportParser(getClassLocations());
+        } else if ("jacoco-pull".equals(param.getCoverageType())) {
+            return param.getParallelism() > 1 ? new JacocoXmlSplitParser(param.getParallelism()) : new JacocoXmlPullParser();
         } else {
-            return new JacocoReportParser();
+            return new JacocoReportParser(param.getParallelism());
         }
     }
 
+    private List<File> getClassLocations() {
+        List<String> classPaths = param.getClassPaths() == null || param.getClassPaths().isEmpty()
+                ? Collections.singletonList("target/classes")
+                : param.getClassPaths();
+        return classPaths.stream().map(File::new).collect(Collectors.toList());
+    }
+
     public NewCoverageChecker getNewCoverageParser() {
-        return new NewCoverageChecker();
+        return new NewCoverageChecker(param.getParallelism());
     }
 
     public Reporter getReporter() {
@@ -38,4 +38,14 @@ public class Parameter {
 	private String buildId;
 	private String hostname;
 	private String buildTypeId;
+	private boolean streamDiff;
+	private int parallelism;
+	private boolean addedLinesOnly;
+	private String gitRange;
+	private List<String> includes;
+	private List<String> excludes;
+	private int maxDiffLines;
+	private List<String> classPaths;
+	private String cacheDir;
+	private long cacheSize;
 }
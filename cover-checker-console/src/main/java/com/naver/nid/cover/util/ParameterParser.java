@@ -21,6 +21,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.PrintWriter;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 public class ParameterParser {
 	private static final Logger logger = LoggerFactory.getLogger(ParameterParser.class);
@@ -30,6 +32,16 @@ public class ParameterParser {
 	private static final String DIFF_OPTION = "diff";
 	private static final String COVERAGE_PATH_OPTION = "cover";
 	private static final String COVERAGE_TYPE_OPTION = "type";
+	private static final String STREAM_DIFF_OPTION = "stream-diff";
+	private static final String PARALLELISM_OPTION = "parallelism";
+	private static final String ADDED_LINES_ONLY_OPTION = "added-lines-only";
+	private static final String GIT_RANGE_OPTION = "git-range";
+	private static final String INCLUDE_OPTION = "include";
+	private static final String EXCLUDE_OPTION = "exclude";
+	private static final String MAX_DIFF_LINES_OPTION = "max-diff-lines";
+	private static final String CLASSES_OPTION = "classes";
+	private static final String CACHE_DIR_OPTION = "cache-dir";
+	private static final String CACHE_SIZE_OPTION = "cache-size";
 
 	public Parameter getParam(String... commandArgs) {
 		Options commandOptions = executeOption();
@@ -62,6 +74,16 @@ public class ParameterParser {
 				.buildId(cmd.getOptionValue("bid"))
 				.hostname(cmd.getOptionValue("hostname"))
 				.buildTypeId(cmd.getOptionValue("bti"))
+				.streamDiff(cmd.hasOption(STREAM_DIFF_OPTION))
+				.parallelism(Integer.parseInt(cmd.getOptionValue(PARALLELISM_OPTION, "1")))
+				.addedLinesOnly(cmd.hasOption(ADDED_LINES_ONLY_OPTION))
+				.gitRange(cmd.getOptionValue(GIT_RANGE_OPTION, "origin/master...HEAD"))
+				.includes(getList(cmd, INCLUDE_OPTION))
+				.excludes(getList(cmd, EXCLUDE_OPTION))
+				.maxDiffLines(Integer.parseInt(cmd.getOptionValue(MAX_DIFF_LINES_OPTION, "0")))
+				.classPaths(getList(cmd, CLASSES_OPTION))
+				.cacheDir(cmd.getOptionValue(CACHE_DIR_OPTION))
+				.cacheSize(Long.parseLong(cmd.getOptionValue(CACHE_SIZE_OPTION, "256")))
 				.build();
 
 		logger.debug("execute by {}", param);
@@ -86,19 +108,28 @@ public class ParameterParser {
 		return System.getenv("ghprbPullId");
 	}
 
+	private List<String> getList(CommandLine cmd, String option) {
+		String globs = cmd.getOptionValue(option);
+		if (globs == null || globs.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		return Arrays.asList(globs.split(","));
+	}
+
 	private Options executeOption() {
 		Options commandOptions = new Options();
 
 		commandOptions.addOption(Option.builder("d")
 				.longOpt(DIFF_OPTION)
 				.hasArg()
-				.desc("diff file path(absolute recommend)")
+				.desc("diff file path(absolute recommend), repository path when diff type is git")
 				.build());
 
 		commandOptions.addOption(Option.builder("dt")
 				.longOpt("diff-type")
 				.hasArg()
-				.desc("diff type (github | file)")
+				.desc("diff type (github | file | mapped | git)")
 				.build());
 
 		commandOptions.addOption(Option.builder("g")
@@ -134,7 +165,7 @@ public class ParameterParser {
 
 		commandOptions.addOption(Option.builder(COVERAGE_TYPE_OPTION)
 				.hasArg()
-				.desc("coverage report type (jacoco | cobertura) default is jacoco")
+				.desc("coverage report type (jacoco | jacoco-pull | jacoco-exec | cobertura) default is jacoco, jacoco-exec reads class files up to Java 11")
 				.build());
 
 		commandOptions.addOption(Option.builder("t")
@@ -147,7 +178,7 @@ public class ParameterParser {
 		commandOptions.addOption(Option.builder("ft")
 				.longOpt("file-threshold")
 				.hasArg()
-				.desc("coverage report type (jacoco | cobertura) default is jacoco")
+				.desc("coverage threshold of each changed file (0-100), default is 0")
 				.build());
 
 		commandOptions.addOption(Option.builder("bid")
@@ -168,6 +199,64 @@ public class ParameterParser {
 				.desc("Build Type Id from Teamcity")
 				.build());
 
+		commandOptions.addOption(Option.builder("sd")
+				.longOpt(STREAM_DIFF_OPTION)
+				.desc("check diff file by file while reading it instead of loading the whole diff, hunk lines of a file are also streamed")
+				.build());
+
+		commandOptions.addOption(Option.builder("pl")
+				.longOpt(PARALLELISM_OPTION)
+				.hasArg()
+				.desc("number of threads to map diff, split a jacoco-pull report, walk a jacoco html report and check file coverage, default is 1")
+				.build());
+
+		commandOptions.addOption(Option.builder("al")
+				.longOpt(ADDED_LINES_ONLY_OPTION)
+				.desc("keep only added line numbers of the diff to reduce memory")
+				.build());
+
+		commandOptions.addOption(Option.builder("gr")
+				.longOpt(GIT_RANGE_OPTION)
+				.hasArg()
+				.desc("revision range to diff when diff type is git, default is origin/master...HEAD")
+				.build());
+
+		commandOptions.addOption(Option.builder("in")
+				.longOpt(INCLUDE_OPTION)
+				.hasArg()
+				.desc("comma separated glob of diff file paths to check, default is all files")
+				.build());
+
+		commandOptions.addOption(Option.builder("ex")
+				.longOpt(EXCLUDE_OPTION)
+				.hasArg()
+				.desc("comma separated glob of diff file paths to skip")
+				.build());
+
+		commandOptions.addOption(Option.builder("ml")
+				.longOpt(MAX_DIFF_LINES_OPTION)
+				.hasArg()
+				.desc("max diff lines of one file, larger file is skipped with warning, default is 0(unlimited)")
+				.build());
+
+		commandOptions.addOption(Option.builder("cl")
+				.longOpt(CLASSES_OPTION)
+				.hasArg()
+				.desc("comma separated class directories or jars to analyze with jacoco.exec, default is target/classes")
+				.build());
+
+		commandOptions.addOption(Option.builder("cd")
+				.longOpt(CACHE_DIR_OPTION)
+				.hasArg()
+				.desc("directory to cache parsed coverage report files, no cache if not set. a cache miss parses the whole report, jacoco-exec is not cached")
+				.build());
+
+		commandOptions.addOption(Option.builder("cs")
+				.longOpt(CACHE_SIZE_OPTION)
+				.hasArg()
+				.desc("max size of the coverage cache directory in MB, default is 256")
+				.build());
+
 		return commandOptions;
 	}
 }
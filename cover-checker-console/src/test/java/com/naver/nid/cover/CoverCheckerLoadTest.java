@@ -0,0 +1,99 @@
+package com.naver.nid.cover;
+
+import com.naver.nid.cover.checker.NewCoverageChecker;
+import com.naver.nid.cover.checker.model.NewCoverageCheckReport;
+import com.naver.nid.cover.fixture.FixtureGenerator;
+import com.naver.nid.cover.jacoco.JacocoReportParser;
+import com.naver.nid.cover.parser.diff.FileDiffReader;
+import com.naver.nid.cover.util.Parameter;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 대용량 diff 와 coverage report 로 {@link CoverChecker#check(Parameter)} 의 시간과 메모리를 확인한다.
+ * <p>
+ * mvn test -Dcoverchecker.loadtest=true [-Dloadtest.files=100000 -Dloadtest.lines=100 -Dloadtest.changedFiles=50000]
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "coverchecker.loadtest", matches = "true")
+class CoverCheckerLoadTest {
+
+	private static Level previousLevel;
+
+	// 라인 단위 debug 로그가 측정 시간에 섞이지 않도록 검사 중에는 경고 이상만 출력
+	@BeforeAll
+	static void quietLogging() {
+		Logger logger = (Logger) LoggerFactory.getLogger("com.naver.nid.cover");
+		previousLevel = logger.getLevel();
+		logger.setLevel(Level.WARN);
+		((Logger) LoggerFactory.getLogger(CoverCheckerLoadTest.class)).setLevel(Level.INFO);
+	}
+
+	@AfterAll
+	static void restoreLogging() {
+		((Logger) LoggerFactory.getLogger("com.naver.nid.cover")).setLevel(previousLevel);
+	}
+
+	@Test
+	public void checkLargeReport(@TempDir Path dir) throws Exception {
+		checkLargeReport(dir, false);
+	}
+
+	@Test
+	public void checkLargeReportByStreaming(@TempDir Path dir) throws Exception {
+		checkLargeReport(dir, true);
+	}
+
+	private void checkLargeReport(Path dir, boolean streamDiff) throws Exception {
+		FixtureGenerator fixture = FixtureGenerator.builder()
+				.fileCount(Integer.getInteger("loadtest.files", 100_000))
+				.linesPerFile(Integer.getInteger("loadtest.lines", 100))
+				.changedFileCount(Integer.getInteger("loadtest.changedFiles", 50_000))
+				.changedRatio(0.1)
+				.build();
+
+		Path diff = dir.resolve("fixture.diff");
+		Path report = dir.resolve("jacoco.xml");
+		fixture.writeDiff(diff);
+		fixture.writeJacocoXml(report);
+
+		AtomicReference<NewCoverageCheckReport> result = new AtomicReference<>();
+		CoverChecker checker = new CoverChecker(new JacocoReportParser(), new FileDiffReader(diff.toString()),
+				new NewCoverageChecker(Runtime.getRuntime().availableProcessors()), result::set);
+
+		Parameter param = Parameter.builder()
+				.coveragePath(Collections.singletonList(report.toString()))
+				.threshold(0)
+				.streamDiff(streamDiff)
+				.build();
+
+		System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+		long start = System.nanoTime();
+
+		assertTrue(checker.check(param));
+
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+		long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+		log.info("streamDiff={} files={} changedFiles={} elapsed={}ms heapDelta={}MB", streamDiff, fixture.getFileCount(),
+				fixture.getChangedFileCount(), elapsedMs, (usedAfter - usedBefore) >> 20);
+
+		assertEquals(fixture.expectedTotalNewLine(), result.get().getTotalNewLine());
+		assertEquals(fixture.expectedCoveredNewLine(), result.get().getCoveredNewLine());
+	}
+}
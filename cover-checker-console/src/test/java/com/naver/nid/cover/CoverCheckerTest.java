@@ -6,8 +6,10 @@ import com.naver.nid.cover.checker.model.NewCoverageCheckReport;
 import com.naver.nid.cover.checker.model.NewCoveredFile;
 import com.naver.nid.cover.github.manager.GithubPullRequestManager;
 import com.naver.nid.cover.parser.coverage.CoverageReportParser;
+import com.naver.nid.cover.parser.coverage.model.CoverageAccumulator;
 import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
 import com.naver.nid.cover.parser.coverage.model.LineCoverageReport;
 import com.naver.nid.cover.parser.diff.DiffParser;
 import com.naver.nid.cover.parser.diff.model.Diff;
@@ -19,6 +21,7 @@ import com.naver.nid.cover.reporter.ConsoleReporter;
 import com.naver.nid.cover.util.Parameter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -32,8 +35,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -79,11 +84,11 @@ class CoverCheckerTest {
 		FileCoverageReport fileCoverageReport = new FileCoverageReport();
 		fileCoverageReport.setType("java");
 		fileCoverageReport.setFileName("test.java");
-		fileCoverageReport.setLineCoverageReportList(Arrays.asList(lineCoverageReport, lineCoverageReport2));
+		fileCoverageReport.setLineCoverage(LineCoverage.of(Arrays.asList(lineCoverageReport, lineCoverageReport2)));
 		FileCoverageReport fileCoverageReport2 = new FileCoverageReport();
-		fileCoverageReport.setType("java");
-		fileCoverageReport.setFileName("test2.java");
-		fileCoverageReport.setLineCoverageReportList(Arrays.asList(lineCoverageReport, lineCoverageReport2));
+		fileCoverageReport2.setType("java");
+		fileCoverageReport2.setFileName("test2.java");
+		fileCoverageReport2.setLineCoverage(LineCoverage.of(Arrays.asList(lineCoverageReport, lineCoverageReport2)));
 		List<FileCoverageReport> coverageModule1 = Collections.singletonList(fileCoverageReport);
 		List<FileCoverageReport> coverageModule2 = Collections.singletonList(fileCoverageReport2);
 		Map<Range, CoverageStatus> addedLine = new LinkedHashMap<>();
@@ -101,14 +106,16 @@ class CoverCheckerTest {
 								.build()))
 				.build();
 		newCoverageCheckReport.setFileThreshold(30);
-		List<FileCoverageReport> coverageList = Stream.concat(coverageModule1.stream(), coverageModule2.stream()).collect(Collectors.toList());
+		Map<String, LineCoverage> coverageMap = new HashMap<>();
+		coverageMap.put("test.java", fileCoverageReport.getLineCoverage());
+		coverageMap.put("test2.java", fileCoverageReport2.getLineCoverage());
 
 		List<Diff> diffList = diffStream.collect(Collectors.toList());
 		doReturn(diffList.stream()).when(diffParser).parse();
-		doReturn(coverageModule1).when(coverageReportParser).parse("test-module1");
-		doReturn(coverageModule2).when(coverageReportParser).parse("test-module2");
-		doReturn(newCoverageCheckReport).when(checker).check(coverageList, diffList, 50, 30,
-				"http://null/repository/download/null/null:id/.teamcity/coverage_jacoco/coverage.zip!/");
+		doReturn(coverageModule1).when(coverageReportParser).parse(eq("test-module1"), any());
+		doReturn(coverageModule2).when(coverageReportParser).parse(eq("test-module2"), any());
+		doReturn(newCoverageCheckReport).when(checker).check(any(CoverageAccumulator.class), eq(diffList), eq(50), eq(30),
+				eq("http://null/repository/download/null/null:id/.teamcity/coverage_jacoco/coverage.zip!/"));
 
 		Parameter param = Parameter.builder()
 				.coveragePath(null)
@@ -127,8 +134,10 @@ class CoverCheckerTest {
 		assertTrue(coverChecker.check(param), "Coverchecker must finish successfully");
 
 		verify(diffParser).parse();
-		verify(coverageReportParser).parse("test-module1");
-		verify(coverageReportParser).parse("test-module2");
-		verify(checker).check(coverageList, diffList, 50, 30, "http://null/repository/download/null/null:id/.teamcity/coverage_jacoco/coverage.zip!/");
+		verify(coverageReportParser).parse(eq("test-module1"), any());
+		verify(coverageReportParser).parse(eq("test-module2"), any());
+		ArgumentCaptor<CoverageAccumulator> coverage = ArgumentCaptor.forClass(CoverageAccumulator.class);
+		verify(checker).check(coverage.capture(), eq(diffList), eq(50), eq(30), eq("http://null/repository/download/null/null:id/.teamcity/coverage_jacoco/coverage.zip!/"));
+		assertEquals(coverageMap, coverage.getValue().getCoverage());
 	}
 }
\ No newline at end of file
@@ -3,12 +3,18 @@ package com.naver.nid.cover.util;
 import com.naver.nid.cover.checker.NewCoverageChecker;
 import com.naver.nid.cover.cobertura.CoberturaCoverageReportHandler;
 import com.naver.nid.cover.jacoco.JacocoReportParser;
+import com.naver.nid.cover.jacoco.JacocoXmlPullParser;
+import com.naver.nid.cover.jacoco.JacocoXmlSplitParser;
+import com.naver.nid.cover.jacoco.exec.JacocoExecReportParser;
+import com.naver.nid.cover.parser.coverage.CachingCoverageReportParser;
 import com.naver.nid.cover.parser.coverage.CoverageReportParser;
 import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
 import com.naver.nid.cover.parser.diff.FileDiffReader;
+import com.naver.nid.cover.parser.diff.MappedFileDiffReader;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -18,20 +24,38 @@ class ObjectFactoryTest {
     void getDiffParser() {
         String diffPath = getClass().getClassLoader().getResource("test_diff.diff").getPath();
         assertEquals(FileDiffReader.class, new ObjectFactory(Parameter.builder().diffPath(diffPath).diffType("file").build()).getDiffReader().getClass());
+        assertEquals(MappedFileDiffReader.class, new ObjectFactory(Parameter.builder().diffPath(diffPath).diffType("mapped").build()).getDiffReader().getClass());
     }
 
     @Test
     void getCoberturaCoverageReportParser() throws NoSuchFieldException, IllegalAccessException {
         CoverageReportParser cobertura = new ObjectFactory(Parameter.builder().coverageType("cobertura").build()).getCoverageReportParser();
-        Field handler = XmlCoverageReportParser.class.getDeclaredField("handler");
-        handler.setAccessible(true);
-        assertEquals(CoberturaCoverageReportHandler.class, handler.get(cobertura).getClass());
+        Field handlerFactory = XmlCoverageReportParser.class.getDeclaredField("handlerFactory");
+        handlerFactory.setAccessible(true);
+        assertEquals(CoberturaCoverageReportHandler.class, ((Supplier<?>) handlerFactory.get(cobertura)).get().getClass());
     }
 
     @Test
-    void getJacocoCoverageReportParser() {
+    void getJacocoCoverageReportParser() throws NoSuchFieldException, IllegalAccessException {
         CoverageReportParser jacoco = new ObjectFactory(Parameter.builder().build()).getCoverageReportParser();
         assertEquals(JacocoReportParser.class, jacoco.getClass());
+
+        CoverageReportParser parallelJacoco = new ObjectFactory(Parameter.builder().coverageType("jacoco").parallelism(4).build()).getCoverageReportParser();
+        Field parallelism = JacocoReportParser.class.getDeclaredField("parallelism");
+        parallelism.setAccessible(true);
+        assertEquals(4, parallelism.get(parallelJacoco));
+
+        CoverageReportParser pull = new ObjectFactory(Parameter.builder().coverageType("jacoco-pull").build()).getCoverageReportParser();
+        assertEquals(JacocoXmlPullParser.class, pull.getClass());
+
+        CoverageReportParser split = new ObjectFactory(Parameter.builder().coverageType("jacoco-pull").parallelism(4).build()).getCoverageReportParser();
+        assertEquals(JacocoXmlSplitParser.class, split.getClass());
+
+        CoverageReportParser cached = new ObjectFactory(Parameter.builder().coverageType("jacoco").cacheDir("cover-cache").cacheSize(1).build()).getCoverageReportParser();
+        assertEquals(CachingCoverageReportParser.class, cached.getClass());
+
+        CoverageReportParser exec = new ObjectFactory(Parameter.builder().coverageType("jacoco-exec").build()).getCoverageReportParser();
+        assertEquals(JacocoExecReportParser.class, exec.getClass());
     }
 
     @Test
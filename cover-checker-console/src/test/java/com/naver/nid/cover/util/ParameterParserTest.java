@@ -4,6 +4,7 @@ import org.eclipse.egit.github.core.client.IGitHubConstants;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +23,53 @@ class ParameterParserTest {
 		assertEquals(3, parameter.getPrNumber());
 		assertEquals("cobertura", parameter.getCoverageType());
 		assertEquals("com.naver.nid.cover.github", parameter.getDiffType());
+		assertFalse(parameter.isStreamDiff());
+	}
+
+	@Test
+	public void getStreamDiffParam() {
+		String param = "-c /path -d /path -t 50 --stream-diff";
+		assertTrue(new ParameterParser().getParam(param.split(" ")).isStreamDiff());
+	}
+
+	@Test
+	public void getAddedLinesOnlyParam() {
+		String param = "-c /path -d /path -t 50 -al";
+		assertTrue(new ParameterParser().getParam(param.split(" ")).isAddedLinesOnly());
+	}
+
+	@Test
+	public void getPathFilterParam() {
+		String param = "-c /path -d /path -t 50 --include src/main/**,**/*.kt -ex **/generated/**";
+		Parameter parameter = new ParameterParser().getParam(param.split(" "));
+		assertEquals(Arrays.asList("src/main/**", "**/*.kt"), parameter.getIncludes());
+		assertEquals(Collections.singletonList("**/generated/**"), parameter.getExcludes());
+	}
+
+	@Test
+	public void getMaxDiffLinesParam() {
+		String param = "-c /path -d /path -t 50 -ml 10000";
+		assertEquals(10000, new ParameterParser().getParam(param.split(" ")).getMaxDiffLines());
+		assertEquals(0, new ParameterParser().getParam("-c /path -d /path -t 50".split(" ")).getMaxDiffLines());
+	}
+
+	@Test
+	public void getClassPathsParam() {
+		String param = "-c /path/jacoco.exec -d /path -t 50 -type jacoco-exec -cl a/target/classes,b/target/classes";
+		Parameter parameter = new ParameterParser().getParam(param.split(" "));
+		assertEquals("jacoco-exec", parameter.getCoverageType());
+		assertEquals(Arrays.asList("a/target/classes", "b/target/classes"), parameter.getClassPaths());
+	}
+
+	@Test
+	public void getCacheParam() {
+		Parameter defaultSize = new ParameterParser().getParam("-c /path/jacoco.xml -d /path -t 50 -cd /tmp/cover-cache".split(" "));
+		assertEquals("/tmp/cover-cache", defaultSize.getCacheDir());
+		assertEquals(256, defaultSize.getCacheSize());
+
+		Parameter noCache = new ParameterParser().getParam("-c /path/jacoco.xml -d /path -t 50 -cs 16".split(" "));
+		assertNull(noCache.getCacheDir());
+		assertEquals(16, noCache.getCacheSize());
 	}
 
 	@Test
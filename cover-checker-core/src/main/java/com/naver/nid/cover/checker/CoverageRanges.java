@@ -0,0 +1,130 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.checker;
+
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import lombok.EqualsAndHashCode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>추가된 라인을 커버 상태가 같은 구간으로 묶은 표. 구간마다 {@link Range} 객체를 만들지 않고 배열 index 로 접근한다.</p>
+ *
+ * <p>Run-length encoded line ranges. Range {@code i} covers lines {@code getStart(i)..getEnd(i)} with {@code getStatus(i)}.</p>
+ *
+ * Immutable
+ */
+@EqualsAndHashCode
+public final class CoverageRanges {
+	public static final CoverageRanges EMPTY = new CoverageRanges(new int[0], new int[0], new byte[0]);
+
+	private final int[] start;
+	private final int[] end;
+	private final byte[] status;
+
+	private CoverageRanges(int[] start, int[] end, byte[] status) {
+		this.start = start;
+		this.end = end;
+		this.status = status;
+	}
+
+	public int size() {
+		return start.length;
+	}
+
+	public int getStart(int index) {
+		return start[index];
+	}
+
+	public int getEnd(int index) {
+		return end[index];
+	}
+
+	public CoverageStatus getStatus(int index) {
+		return CoverageStatus.ofOrder(status[index]);
+	}
+
+	/**
+	 * 정렬된 라인 번호를 상태가 바뀌는 곳마다 구간으로 나눈다.
+	 *
+	 * @param lines  오름차순으로 정렬된 라인 번호
+	 * @param status 라인별 {@link CoverageStatus#order}
+	 * @param length 배열에서 사용할 길이
+	 * @return 구간 표
+	 */
+	public static CoverageRanges encode(int[] lines, byte[] status, int length) {
+		if (length == 0) return EMPTY;
+
+		int runs = 1;
+		for (int i = 1; i < length; i++) {
+			if (status[i] != status[i - 1]) runs++;
+		}
+
+		int[] runStart = new int[runs];
+		int[] runEnd = new int[runs];
+		byte[] runStatus = new byte[runs];
+
+		int r = 0;
+		runStart[0] = lines[0];
+		runStatus[0] = status[0];
+		for (int i = 1; i < length; i++) {
+			if (status[i] != status[i - 1]) {
+				runEnd[r++] = lines[i - 1];
+				runStart[r] = lines[i];
+				runStatus[r] = status[i];
+			}
+		}
+		runEnd[r] = lines[length - 1];
+
+		return new CoverageRanges(runStart, runEnd, runStatus);
+	}
+
+	/**
+	 * 순서대로 정렬된 {@link Range} 목록으로 구간 표를 만든다.
+	 */
+	public static CoverageRanges of(Map<Range, CoverageStatus> ranges) {
+		int[] runStart = new int[ranges.size()];
+		int[] runEnd = new int[ranges.size()];
+		byte[] runStatus = new byte[ranges.size()];
+
+		int r = 0;
+		for (Map.Entry<Range, CoverageStatus> range : ranges.entrySet()) {
+			runStart[r] = range.getKey().getStart();
+			runEnd[r] = range.getKey().getEnd();
+			runStatus[r++] = (byte) range.getValue().order;
+		}
+		return new CoverageRanges(runStart, runEnd, runStatus);
+	}
+
+	public Map<Range, CoverageStatus> toMap() {
+		Map<Range, CoverageStatus> ranges = new LinkedHashMap<>();
+		for (int i = 0; i < start.length; i++) {
+			ranges.put(new Range(start[i], end[i]), getStatus(i));
+		}
+		return ranges;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < start.length; i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(start[i]).append('-').append(end[i]).append('(').append(getStatus(i)).append(')');
+		}
+		return sb.append(']').toString();
+	}
+}
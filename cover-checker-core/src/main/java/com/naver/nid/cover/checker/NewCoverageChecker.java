@@ -20,14 +20,21 @@ import com.naver.nid.cover.checker.model.NewCoveredFile;
 import com.naver.nid.cover.parser.diff.model.Diff;
 import com.naver.nid.cover.parser.diff.model.Line;
 import com.naver.nid.cover.parser.diff.model.ModifyType;
+import com.naver.nid.cover.parser.coverage.model.CoverageAccumulator;
 import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
-import com.naver.nid.cover.parser.coverage.model.LineCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -38,6 +45,19 @@ import java.util.stream.Stream;
 public class NewCoverageChecker {
 	private static final Logger logger = LoggerFactory.getLogger(NewCoverageChecker.class);
 
+	private final int parallelism;
+
+	public NewCoverageChecker() {
+		this(1);
+	}
+
+	/**
+	 * @param parallelism 파일별 커버리지를 계산할 thread 수, 1 이하는 현재 thread 에서 순서대로 계산한다.
+	 */
+	public NewCoverageChecker(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	/**
 	 * <p>coverage report 와 diff 를 확인하여 신규 코드의 테스트 코드의 커버 정도를 확인한다.</p>
 	 *
@@ -51,33 +71,184 @@ public class NewCoverageChecker {
 	 */
 	public NewCoverageCheckReport check(List<FileCoverageReport> coverage, List<Diff> diff, int threshold, int fileThreshold,
 			String baseUrl) {
-		Map<String, List<Line>> diffMap = diff.stream()
+		return check(CoverageAccumulator.of(coverage), diff, threshold, fileThreshold, baseUrl);
+	}
+
+	/**
+	 * 여러 report 를 이미 파일 단위로 합친 coverage 를 사용하는 {@link #check(List, List, int, int, String)}
+	 *
+	 * @param coverage      파일 이름별로 합친 커버리지
+	 * @param diff          구 버전 파일과 신 버전 파일의 차이
+	 * @param threshold     커버지리 통과 조건
+	 * @param fileThreshold 파일별 커버리지 통과 조건
+	 * @return 전체 커버리지, 파일 별 커버리지
+	 */
+	public NewCoverageCheckReport check(CoverageAccumulator coverage, List<Diff> diff, int threshold, int fileThreshold,
+			String baseUrl) {
+		Map<String, int[]> diffMap = diff.stream()
 				.filter(Objects::nonNull)
 				.peek(d -> logger.debug("diff file {}", d.getFileName()))
-				.filter(d -> !d.getFileName().startsWith("src/test"))
-				.filter(d -> !d.getDiffSectionList().isEmpty())
+				.filter(NewCoverageChecker::isCheckTarget)
 				.collect(Collectors.toMap(Diff::getFileName
-						, d -> d.getDiffSectionList().stream()
-								.filter(s -> Objects.nonNull(s.getLineList()))
-								.flatMap(s -> s.getLineList().stream())
-								.filter(l -> l.getType() == ModifyType.ADD)
-								.collect(Collectors.toList())
-						, (u1, u2) -> Stream.concat(u1.stream(), u2.stream()).collect(Collectors.toList())));
+						, NewCoverageChecker::addedLineNumbers
+						, (u1, u2) -> IntStream.concat(IntStream.of(u1), IntStream.of(u2)).toArray()));
 
-		Map<String, List<LineCoverageReport>> coverageMap = coverage.stream()
-				.peek(r -> logger.debug("file coverage {}", r.getFileName()))
-				.collect(Collectors.toMap(FileCoverageReport::getFileName
-						, FileCoverageReport::getLineCoverageReportList
-						, (u1, u2) -> Stream.concat(u1.stream(), u2.stream()).collect(Collectors.toList())));
+		NewCoverageCheckReport result = combine(logCoverage(coverage), diffMap, baseUrl);
+		result.setFileThreshold(fileThreshold);
+		result.setThreshold(threshold);
+		logger.debug("coverage {} threshold {}", result, threshold);
+		return result;
+	}
 
+	/**
+	 * <p>diff 를 모두 모으지 않고 파일 단위로 읽으면서 미리 만든 coverage 색인과 비교한다.
+	 * 파일별 결과는 계산되는 즉시 fileListener 로 전달되므로 메모리는 coverage 색인과 diff 파일 하나 크기로 제한된다.</p>
+	 *
+	 * <p>Streaming variant of {@link #check(List, List, int, int, String)}. Each diff is matched to the longest coverage
+	 * file path it ends with. A coverage file matched by several diff files follows the same rule as the collected mode:
+	 * the diff with exactly the same path wins, otherwise the file is excluded. A result already passed to fileListener
+	 * that is replaced or excluded this way is left out of the returned report and logged as a warning at the end.</p>
+	 *
+	 * @param coverage      파일 커버리지 리포트 결과
+	 * @param diff          구 버전 파일과 신 버전 파일의 차이, 파일 단위로 소비한다.
+	 * @param threshold     커버지리 통과 조건
+	 * @param fileThreshold 파일별 커버리지 통과 조건
+	 * @param fileListener  파일별 커버리지를 계산 즉시 전달 받는다.
+	 * @return 전체 커버리지, 파일 별 커버리지
+	 */
+	public NewCoverageCheckReport check(List<FileCoverageReport> coverage, Stream<Diff> diff, int threshold, int fileThreshold,
+			String baseUrl, Consumer<NewCoveredFile> fileListener) {
+		return check(CoverageAccumulator.of(coverage), diff, threshold, fileThreshold, baseUrl, fileListener);
+	}
+
+	/**
+	 * 여러 report 를 이미 파일 단위로 합친 coverage 를 사용하는 {@link #check(List, Stream, int, int, String, Consumer)}
+	 */
+	public NewCoverageCheckReport check(CoverageAccumulator coverage, Stream<Diff> diff, int threshold, int fileThreshold,
+			String baseUrl, Consumer<NewCoveredFile> fileListener) {
+		Map<String, LineCoverage> coverageMap = logCoverage(coverage);
 
-		NewCoverageCheckReport result = combine(coverageMap, diffMap, baseUrl);
+		// diff 파일 경로의 끝부분과 같은 coverage 파일을 찾기 위한 색인
+		ReversePathIndex<String> coverageFileIndex = new ReversePathIndex<>();
+		coverageMap.keySet().forEach(name -> coverageFileIndex.put(name, name));
+
+		// coverage 파일 -> 매칭된 diff 파일과 결과, 모든 diff 를 읽은 뒤 중복 매칭을 정리한다.
+		Map<String, StreamMatch> matches = new LinkedHashMap<>();
+
+		Iterator<Diff> it = diff.iterator();
+		while (it.hasNext()) {
+			Diff d = it.next();
+			if (d == null) continue;
+
+			logger.debug("diff file {}", d.getFileName());
+			if (!isCheckTarget(d)) continue;
+
+			String file = coverageFileIndex.findLongestSuffixOf(d.getFileName());
+			if (file == null) {
+				logger.debug("file({}) has no coverage", d.getFileName());
+				continue;
+			}
+
+			StreamMatch match = matches.computeIfAbsent(file, k -> new StreamMatch());
+			boolean exact = file.equals(d.getFileName());
+			match.diffFiles.add(d.getFileName());
+			// 이미 경로가 같은 diff 가 있거나, 두번째 이후의 일치하지 않는 diff 는 계산하지 않는다.
+			if (match.exact || (match.diffFiles.size() > 1 && !exact)) {
+				continue;
+			}
+
+			if (match.emitted != null) {
+				match.retracted.add(match.emitted);
+			}
+			match.exact = exact;
+			match.emitted = evaluate(file, coverageMap.get(file), addedLineNumbers(d), baseUrl);
+			if (match.emitted == null) { // 단순 필드 변경의 경우 결과 목록에 넣지 않는다.
+				continue;
+			}
+
+			match.emitted.setThreshold(fileThreshold);
+			fileListener.accept(match.emitted);
+		}
+
+		int totalAddLineCount = 0;
+		int coveredLineCount = 0;
+		List<NewCoveredFile> coveredFileList = new ArrayList<>();
+		for (Map.Entry<String, StreamMatch> entry : matches.entrySet()) {
+			StreamMatch match = entry.getValue();
+			if (!match.exact && match.diffFiles.size() > 1) {
+				logger.warn("coverage file({}) matches multiple diff files {}, skip it", entry.getKey(), match.diffFiles);
+				if (match.emitted != null) match.retracted.add(match.emitted);
+				match.emitted = null;
+			}
+			if (!match.retracted.isEmpty()) {
+				logger.warn("coverage of {} already reported is excluded from the result", match.retracted);
+			}
+
+			NewCoveredFile coveredFile = match.emitted;
+			if (coveredFile == null) {
+				continue;
+			}
+
+			coveredFileList.add(coveredFile);
+			totalAddLineCount += coveredFile.getAddedLineCount();
+			coveredLineCount += coveredFile.getAddedCoverLine();
+		}
+
+		NewCoverageCheckReport result = toReport(coveredFileList, totalAddLineCount, coveredLineCount);
 		result.setFileThreshold(fileThreshold);
 		result.setThreshold(threshold);
 		logger.debug("coverage {} threshold {}", result, threshold);
 		return result;
 	}
 
+	/**
+	 * <p>diff 에서 변경된 파일의 coverage 만 읽도록 coverage report parser 에 넘길 filter 를 만든다.
+	 * 파일 매칭은 {@link #check} 와 같이 경로 끝부분을 '/' 단위로 비교한다.</p>
+	 *
+	 * <p>Build a filter of coverage file names that can match any changed file of the diff.</p>
+	 *
+	 * @param diff 구 버전 파일과 신 버전 파일의 차이
+	 * @return coverage report 의 파일 경로를 받아 검사 대상 여부를 반환
+	 */
+	public static Predicate<String> changedFileFilter(Collection<Diff> diff) {
+		ReversePathIndex<Boolean> index = new ReversePathIndex<>();
+		diff.stream()
+				.filter(Objects::nonNull)
+				.filter(NewCoverageChecker::isCheckTarget)
+				.forEach(d -> index.put(d.getFileName(), Boolean.TRUE));
+
+		logger.debug("changed file filter size {}", index.size());
+		return index::containsSuffix;
+	}
+
+	private static Map<String, LineCoverage> logCoverage(CoverageAccumulator coverage) {
+		Map<String, LineCoverage> coverageMap = coverage.getCoverage();
+		if (logger.isDebugEnabled()) {
+			coverageMap.keySet().forEach(name -> logger.debug("file coverage {}", name));
+		}
+		return coverageMap;
+	}
+
+	/**
+	 * @return 추가된 라인 번호, {@link #evaluate} 가 배열을 변경하므로 항상 새 배열을 반환한다.
+	 */
+	private static int[] addedLineNumbers(Diff d) {
+		if (d.getAddedLines() != null) {
+			return d.getAddedLines().clone();
+		}
+		return d.getDiffSectionList().stream()
+				.filter(s -> Objects.nonNull(s.getLineList()))
+				.flatMap(s -> s.getLineList().stream())
+				.filter(l -> l.getType() == ModifyType.ADD)
+				.mapToInt(Line::getLineNumber)
+				.toArray();
+	}
+
+	private static boolean isCheckTarget(Diff d) {
+		if (d.getFileName().startsWith("src/test")) return false;
+		return d.getAddedLines() != null ? d.getAddedLines().length > 0 : !d.getDiffSectionList().isEmpty();
+	}
+
 	/**
 	 * combine coverage report & new line report to Coverage check report
 	 *
@@ -85,89 +256,49 @@ public class NewCoverageChecker {
 	 * @param newCodeLines   add line of code for each files
 	 * @return new line of code coverage result
 	 */
-	private NewCoverageCheckReport combine(Map<String, List<LineCoverageReport>> coverageReport, Map<String, List<Line>> newCodeLines,
+	private NewCoverageCheckReport combine(Map<String, LineCoverage> coverageReport, Map<String, int[]> newCodeLines,
 			String baseUrl) {
 		int totalAddLineCount = 0;
 		int coveredLineCount = 0;
 
-		Set<String> files = new HashSet<>(coverageReport.keySet());
-
-		List<NewCoveredFile> coveredFileList = new ArrayList<>();
-		for (String file : files) {
-			// TODO 다른 모듈의 동일 패키지 동일 파일 이름일 경우에 대한 처리 필요
-
-			// 코드 커버리지의 끝 경로가 같은 경우에 대해 검색
-			List<Line> diffList = newCodeLines.entrySet().stream()
-				.filter(e -> e.getKey().endsWith(file))
-				.findFirst()
-				.map(Map.Entry::getValue)
-				.orElse(Collections.emptyList());
-
-			if (diffList.isEmpty()) {
-				logger.debug("file({}) is not changed", file);
-				continue;
+		Set<String> fileSet = new HashSet<>(coverageReport.keySet());
+		String[] files = fileSet.toArray(new String[0]);
+
+		// 코드 커버리지의 끝 경로가 같은 diff 파일을 찾기 위한 색인
+		ReversePathIndex<String> diffFileIndex = new ReversePathIndex<>();
+		newCodeLines.keySet().forEach(name -> diffFileIndex.put(name, name));
+
+		// 병렬로 계산해도 순서가 바뀌지 않도록 파일 순서대로 결과 자리를 정해둔다.
+		NewCoveredFile[] results = new NewCoveredFile[files.length];
+		IntConsumer evaluator = i -> results[i] = evaluateFile(files[i], coverageReport, newCodeLines, diffFileIndex, baseUrl);
+		if (parallelism > 1 && files.length > 1) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				pool.invoke(new EvaluateTask(evaluator, 0, files.length));
+			} finally {
+				pool.shutdown();
 			}
+		} else {
+			for (int i = 0; i < files.length; i++) {
+				evaluator.accept(i);
+			}
+		}
 
-			List<LineCoverageReport> lineCoverageReports = coverageReport.get(file);
-
-			logger.debug("check file {}", file);
-			String packageFileName = replaceLast(file, "/", "\\");
-			packageFileName = packageFileName.replace("/", ".").replace("\\", "/");
-
-			String url = baseUrl + packageFileName +".html";
-
-			Map<Integer, CoverageStatus> lineCoverStatus = lineCoverageReports.stream()
-					.collect(Collectors.toMap(LineCoverageReport::getLineNum, LineCoverageReport::getStatus
-							, (s1, s2) -> s1.order < s2.order ? s2 : s1));
-
-			// 추가된 라인 수
-			List<Integer> addedLineNumber = diffList.stream().filter(l -> l.getType() == ModifyType.ADD)
-					.mapToInt(Line::getLineNumber)
-					.collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
-
-			long notTestableLines = addedLineNumber.stream()
-					.mapToInt(i -> i)
-					.filter(i -> lineCoverStatus.get(i) == CoverageStatus.NOTHING
-							|| lineCoverStatus.get(i) == null)
-					.peek(l -> {
-						if (logger.isDebugEnabled()) {
-							logger.debug("{}", l);
-						}
-					})
-					.count();
-
-			// 전체 라인 중 실제 실행되는 코드가 아닌 경우 제외
-			long currTotalAddLineCount = addedLineNumber.size() - notTestableLines;
-			// 테스트 된 라인 수
-			long currCoveredLineCount = addedLineNumber.stream().mapToInt(i -> i)
-					.filter(i -> lineCoverStatus.get(i) == CoverageStatus.COVERED
-							|| lineCoverStatus.get(i) == CoverageStatus.CONDITION).count();
-
-			if (currTotalAddLineCount == 0) { // 단순 필드 변경의 경우 결과 목록에 넣지 않는다.
+		List<NewCoveredFile> coveredFileList = new ArrayList<>();
+		for (NewCoveredFile coveredFile : results) {
+			if (coveredFile == null) { // 단순 필드 변경의 경우 결과 목록에 넣지 않는다.
 				continue;
 			}
 
-			Map<Integer, CoverageStatus> currTotalAddLines = addedLineNumber.stream().mapToInt(i -> i)
-					.filter(i -> lineCoverStatus.get(i) != CoverageStatus.NOTHING
-							&& lineCoverStatus.get(i) != null)
-					.boxed()
-					.collect(Collectors.toMap(i->i, lineCoverStatus::get));
-
-			currTotalAddLines = new TreeMap<>(currTotalAddLines);
-
-			Map<Range, CoverageStatus> orderedAddedRangeLines = fillRangeCoverageStatusMap(currTotalAddLines);
-
-			coveredFileList.add(NewCoveredFile.builder()
-					.name("["+file.substring(file.lastIndexOf("/")+1)+"]")
-					.url(url)
-					.addedLine(orderedAddedRangeLines)
-					.addedLineCount(currTotalAddLines.size())
-					.addedCoverLine((int) currCoveredLineCount).build());
-
-			totalAddLineCount += currTotalAddLineCount;
-			coveredLineCount += currCoveredLineCount;
+			coveredFileList.add(coveredFile);
+			totalAddLineCount += coveredFile.getAddedLineCount();
+			coveredLineCount += coveredFile.getAddedCoverLine();
 		}
 
+		return toReport(coveredFileList, totalAddLineCount, coveredLineCount);
+	}
+
+	private NewCoverageCheckReport toReport(List<NewCoveredFile> coveredFileList, int totalAddLineCount, int coveredLineCount) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("result total add line {} , covered line {}", totalAddLineCount, coveredLineCount);
 		}
@@ -182,51 +313,141 @@ public class NewCoverageChecker {
 				.build();
 	}
 
-	private Map<Range, CoverageStatus> fillRangeCoverageStatusMap(Map<Integer, CoverageStatus> currTotalAddLines) {
-		Map<Range, CoverageStatus> orderedAddedRangeLines = new LinkedHashMap<>();
+	private NewCoveredFile evaluateFile(String file, Map<String, LineCoverage> coverageReport, Map<String, int[]> newCodeLines,
+			ReversePathIndex<String> diffFileIndex, String baseUrl) {
+		int[] addedLineNumber = resolveDiffFile(diffFileIndex, file)
+			.map(newCodeLines::get)
+			.orElse(null);
 
-		Iterator<Map.Entry<Integer, CoverageStatus>> it = currTotalAddLines.entrySet().iterator();
-		boolean firstRun = true;
+		if (addedLineNumber == null || addedLineNumber.length == 0) {
+			logger.debug("file({}) is not changed", file);
+			return null;
+		}
 
-		Map.Entry<Integer, CoverageStatus> prevEntry = null;
-		int startRange = 0, endRange = 0;
+		// 같은 diff 파일에 여러 coverage 파일이 매칭될 수 있으므로 복사해서 넘긴다.
+		return evaluate(file, coverageReport.get(file), addedLineNumber.clone(), baseUrl);
+	}
 
-		while (it.hasNext()) {
-			if (firstRun) {
-				prevEntry = it.next();
-				startRange = prevEntry.getKey();
-				endRange = startRange;
-				firstRun = false;
+	/**
+	 * 파일 하나의 추가된 라인을 coverage 와 비교한다.
+	 *
+	 * @param file            coverage report 의 파일 경로
+	 * @param lineCoverage    파일의 라인별 커버 상태
+	 * @param addedLineNumber 추가된 라인 번호, 정렬 후 실행되는 라인을 모으는 데 재사용한다.
+	 * @return 파일별 커버리지, 실제 실행되는 코드가 추가되지 않았다면 null
+	 */
+	private NewCoveredFile evaluate(String file, LineCoverage lineCoverage, int[] addedLineNumber, String baseUrl) {
+		logger.debug("check file {}", file);
+
+		// 라인 번호 순으로 구간을 묶기 위해 정렬, 실행되는 라인만 앞쪽으로 모은다.
+		int[] lines = addedLineNumber;
+		Arrays.sort(lines);
+		byte[] statuses = new byte[lines.length];
+		int testableLineCount = 0;
+
+		// 전체 라인 중 실제 실행되는 코드가 아닌 경우 제외
+		int currTotalAddLineCount = 0;
+		// 테스트 된 라인 수
+		int currCoveredLineCount = 0;
+		for (int i = 0; i < lines.length; i++) {
+			int lineNum = lines[i];
+			CoverageStatus status = lineCoverage.getStatus(lineNum);
+			if (status == CoverageStatus.NOTHING) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("{}", lineNum);
+				}
+				continue;
 			}
 
-			do {
-				if (it.hasNext()) {
-					Map.Entry<Integer, CoverageStatus> entry = it.next();
-
-					if (entry.getValue() == prevEntry.getValue()) {
-						endRange = entry.getKey();
-
-						if (!it.hasNext()) {
-							orderedAddedRangeLines.put(new Range(startRange, endRange), prevEntry.getValue());
-						}
-					} else {
-						orderedAddedRangeLines.put(new Range(startRange, endRange), prevEntry.getValue());
-						prevEntry = entry;
-						startRange = prevEntry.getKey();
-						endRange = startRange;
-
-						if (!it.hasNext()) {
-							orderedAddedRangeLines.put(new Range(startRange, endRange), prevEntry.getValue());
-						}
-						break;
-					}
-				} else {
-					orderedAddedRangeLines.put(new Range(startRange, endRange), prevEntry.getValue());
+			currTotalAddLineCount++;
+			if (status == CoverageStatus.COVERED || status == CoverageStatus.CONDITION) {
+				currCoveredLineCount++;
+			}
+			if (testableLineCount > 0 && lines[testableLineCount - 1] == lineNum) { // 중복된 라인
+				continue;
+			}
+			lines[testableLineCount] = lineNum;
+			statuses[testableLineCount++] = (byte) status.order;
+		}
+
+		if (currTotalAddLineCount == 0) {
+			return null;
+		}
+
+		String packageFileName = replaceLast(file, "/", "\\");
+		packageFileName = packageFileName.replace("/", ".").replace("\\", "/");
+
+		String url = baseUrl + packageFileName +".html";
+
+		return NewCoveredFile.builder()
+				.name("["+file.substring(file.lastIndexOf("/")+1)+"]")
+				.url(url)
+				.addedLine(CoverageRanges.encode(lines, statuses, testableLineCount))
+				.addedLineCount(testableLineCount)
+				.addedCoverLine(currCoveredLineCount).build();
+	}
+
+	/**
+	 * 커버리지 파일 경로로 끝나는 diff 파일을 찾는다.
+	 * 다른 모듈의 동일 패키지 동일 파일 이름처럼 후보가 여러 개인 경우 임의로 고르지 않고 경고 후 제외한다.
+	 *
+	 * @param diffFileIndex diff 파일 경로 색인
+	 * @param file          coverage report 의 파일 경로
+	 * @return 일치하는 diff 파일 경로
+	 */
+	private Optional<String> resolveDiffFile(ReversePathIndex<String> diffFileIndex, String file) {
+		List<String> candidates = diffFileIndex.findBySuffix(file);
+		if (candidates.size() <= 1) {
+			return candidates.stream().findFirst();
+		}
+
+		// 경로가 완전히 같은 파일이 있다면 그 파일로 처리
+		if (candidates.get(0).equals(file)) {
+			return Optional.of(file);
+		}
+
+		logger.warn("coverage file({}) matches multiple diff files {}, skip it", file, candidates);
+		return Optional.empty();
+	}
+
+	/**
+	 * streaming 검사에서 coverage 파일 하나에 매칭된 diff 파일들
+	 */
+	private static final class StreamMatch {
+		private final List<String> diffFiles = new ArrayList<>(1);
+		private final List<NewCoveredFile> retracted = new ArrayList<>(0);
+		private boolean exact;
+		private NewCoveredFile emitted;
+	}
+
+	/**
+	 * 파일 index 범위를 나눠 ForkJoinPool 에서 계산한다.
+	 */
+	private static final class EvaluateTask extends RecursiveAction {
+		private static final int THRESHOLD = 16;
+
+		private final IntConsumer evaluator;
+		private final int from;
+		private final int to;
+
+		private EvaluateTask(IntConsumer evaluator, int from, int to) {
+			this.evaluator = evaluator;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					evaluator.accept(i);
 				}
+				return;
+			}
 
-			} while (it.hasNext());
+			int mid = (from + to) >>> 1;
+			invokeAll(new EvaluateTask(evaluator, from, mid), new EvaluateTask(evaluator, mid, to));
 		}
-		return orderedAddedRangeLines;
 	}
 
 	private String replaceLast(String string, String toReplace, String replacement) {
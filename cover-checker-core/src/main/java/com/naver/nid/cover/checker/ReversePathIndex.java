@@ -0,0 +1,152 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.checker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>경로를 뒤에서부터 '/' 단위로 쌓은 trie. 경로 끝부분(suffix)으로 원래 경로를 찾는다.</p>
+ *
+ * <p>Reverse-path trie keyed by path segments from the file name up to the root.
+ * A lookup costs O(segments of the query) regardless of how many paths are indexed.</p>
+ *
+ * Thread non-safe
+ *
+ * @param <V> value stored for each indexed path
+ */
+public class ReversePathIndex<V> {
+
+	private final Node<V> root = new Node<>();
+
+	/**
+	 * @param path  '/' 로 구분된 경로
+	 * @param value 경로에 연결할 값, 같은 경로가 다시 들어오면 덮어쓴다.
+	 */
+	public void put(String path, V value) {
+		Node<V> node = root;
+		int end = path.length();
+		while (end > 0) {
+			int start = path.lastIndexOf('/', end - 1);
+			String segment = path.substring(start + 1, end);
+			end = start;
+			if (segment.isEmpty()) continue;
+
+			node = node.children.computeIfAbsent(segment, s -> new Node<>());
+		}
+
+		if (node.value == null) {
+			propagateCount(path);
+		}
+		node.value = value;
+	}
+
+	private void propagateCount(String path) {
+		Node<V> node = root;
+		node.count++;
+		int end = path.length();
+		while (end > 0) {
+			int start = path.lastIndexOf('/', end - 1);
+			String segment = path.substring(start + 1, end);
+			end = start;
+			if (segment.isEmpty()) continue;
+
+			node = node.children.get(segment);
+			node.count++;
+		}
+	}
+
+	/**
+	 * suffix 로 끝나는 모든 경로의 값을 찾는다. 경로는 segment 단위로 비교하므로 "A.java" 는 "BA.java" 와 일치하지 않는다.
+	 *
+	 * @param suffix '/' 로 구분된 경로의 끝부분
+	 * @return 일치하는 경로의 값 목록, suffix 와 완전히 같은 경로가 있다면 첫번째에 위치한다.
+	 */
+	public List<V> findBySuffix(String suffix) {
+		Node<V> node = find(suffix);
+		if (node == null) return Collections.emptyList();
+		if (node.count == 1 && node.value != null) return Collections.singletonList(node.value);
+
+		List<V> result = new ArrayList<>(node.count);
+		node.collect(result);
+		return result;
+	}
+
+	/**
+	 * @param suffix '/' 로 구분된 경로의 끝부분
+	 * @return suffix 로 끝나는 경로가 하나라도 있는지 여부
+	 */
+	public boolean containsSuffix(String suffix) {
+		return find(suffix) != null;
+	}
+
+	/**
+	 * {@link #findBySuffix(String)} 의 반대 방향 검색. path 가 색인된 경로로 끝나는 경우 그 중 가장 긴 경로의 값을 찾는다.
+	 *
+	 * @param path '/' 로 구분된 경로
+	 * @return path 의 끝부분과 일치하는 가장 긴 색인 경로의 값, 없으면 null
+	 */
+	public V findLongestSuffixOf(String path) {
+		Node<V> node = root;
+		V longest = null;
+		int end = path.length();
+		while (end > 0) {
+			int start = path.lastIndexOf('/', end - 1);
+			String segment = path.substring(start + 1, end);
+			end = start;
+			if (segment.isEmpty()) continue;
+
+			node = node.children.get(segment);
+			if (node == null) break;
+			if (node.value != null) longest = node.value;
+		}
+		return longest;
+	}
+
+	private Node<V> find(String suffix) {
+		Node<V> node = root;
+		int end = suffix.length();
+		while (end > 0 && node != null) {
+			int start = suffix.lastIndexOf('/', end - 1);
+			String segment = suffix.substring(start + 1, end);
+			end = start;
+			if (segment.isEmpty()) continue;
+
+			node = node.children.get(segment);
+		}
+		return node == root ? null : node;
+	}
+
+	public int size() {
+		return root.count;
+	}
+
+	private static final class Node<V> {
+		private final Map<String, Node<V>> children = new HashMap<>(4);
+		private V value;
+		private int count; // 하위 노드를 포함해 이 노드에서 끝나는 경로 수
+
+		private void collect(List<V> result) {
+			if (value != null) result.add(value);
+			for (Node<V> child : children.values()) {
+				child.collect(result);
+			}
+		}
+	}
+}
@@ -17,6 +17,7 @@ package com.naver.nid.cover.checker.model;
 
 import java.util.Map;
 
+import com.naver.nid.cover.checker.CoverageRanges;
 import com.naver.nid.cover.checker.Range;
 import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 
@@ -32,7 +33,7 @@ public class NewCoveredFile {
 
 	private String name;
 	private String url;
-	private Map<Range, CoverageStatus> addedLine;
+	private CoverageRanges addedLine;
 	private int addedLineCount;
 	private int addedCoverLine;
 	private int threshold;
@@ -49,4 +50,18 @@ public class NewCoveredFile {
 	public String getIcon() {
 		return isPass()? CHECK_FILE_PASS : CHECK_FILE_FAIL;
 	}
+
+	public static class NewCoveredFileBuilder {
+		private CoverageRanges addedLine;
+
+		public NewCoveredFileBuilder addedLine(CoverageRanges addedLine) {
+			this.addedLine = addedLine;
+			return this;
+		}
+
+		public NewCoveredFileBuilder addedLine(Map<Range, CoverageStatus> addedLine) {
+			this.addedLine = CoverageRanges.of(addedLine);
+			return this;
+		}
+	}
 }
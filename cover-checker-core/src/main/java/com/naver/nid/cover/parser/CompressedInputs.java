@@ -0,0 +1,68 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>diff 와 coverage report 파일을 연다. gzip 으로 압축된 파일은 확장자가 아닌 magic byte 로 판단하고
+ * 임시 파일 없이 읽으면서 압축을 푼다.</p>
+ */
+public final class CompressedInputs {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private CompressedInputs() {
+	}
+
+	/**
+	 * @return 압축 여부와 관계없이 원본 내용을 읽는 stream
+	 */
+	public static InputStream open(File file) throws IOException {
+		InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+		try {
+			return isGzip(in) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	public static boolean isGzip(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			return hasGzipMagic(in);
+		}
+	}
+
+	/**
+	 * 첫 2 byte 를 확인하고 stream 위치를 되돌린다.
+	 */
+	private static boolean isGzip(InputStream in) throws IOException {
+		in.mark(2);
+		boolean gzip = hasGzipMagic(in);
+		in.reset();
+		return gzip;
+	}
+
+	private static boolean hasGzipMagic(InputStream in) throws IOException {
+		return in.read() == (GZIPInputStream.GZIP_MAGIC & 0xff)
+				&& in.read() == (GZIPInputStream.GZIP_MAGIC >> 8);
+	}
+}
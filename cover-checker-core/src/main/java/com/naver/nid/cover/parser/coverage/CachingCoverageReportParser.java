@@ -0,0 +1,277 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.coverage;
+
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * <p>파싱한 커버리지를 cache 디렉토리에 binary 로 저장하고 같은 report 를 다시 파싱할 때 읽어서 사용한다.</p>
+ *
+ * <p>Entries are keyed by the canonical report path and {@link CoverageReportParser#getCacheIdentity()} of the
+ * delegate, and hold the size, modified time and
+ * CRC32 of the report they were made from; a report with any of them changed is parsed again. When the directory
+ * grows over the size budget the least recently used entries are deleted.</p>
+ *
+ * <p>Only regular report files are cached, directories and delegates without a cache identity are parsed by the
+ * delegate every time. A miss parses the whole report so that the entry can serve any file filter, the filter is
+ * applied to the cached result. A delegate that skips files while reading (jacoco-pull, zipped html) is therefore
+ * slower on a miss than without cache.</p>
+ */
+@Slf4j
+public class CachingCoverageReportParser implements CoverageReportParser {
+	private static final int MAGIC = 0x43435243;
+	private static final int VERSION = 1;
+	private static final String ENTRY_EXTENSION = ".cache";
+
+	private final CoverageReportParser delegate;
+	private final Path cacheDirectory;
+	private final long maxCacheBytes;
+
+	/**
+	 * @param delegate       cache 에 없을 때 사용할 parser
+	 * @param cacheDirectory cache 파일을 저장할 디렉토리, 없으면 만든다.
+	 * @param maxCacheBytes  cache 디렉토리의 최대 크기
+	 */
+	public CachingCoverageReportParser(CoverageReportParser delegate, Path cacheDirectory, long maxCacheBytes) {
+		this.delegate = delegate;
+		this.cacheDirectory = cacheDirectory;
+		this.maxCacheBytes = maxCacheBytes;
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile) {
+		return parse(reportFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
+		String identity = delegate.getCacheIdentity();
+		if (identity == null || !reportFile.isFile()) {
+			return delegate.parse(reportFile, fileFilter);
+		}
+
+		CacheKey key;
+		try {
+			key = CacheKey.of(reportFile, identity);
+		} catch (IOException e) {
+			log.warn("skip coverage cache of {}", reportFile, e);
+			return delegate.parse(reportFile, fileFilter);
+		}
+
+		Path entry = cacheDirectory.resolve(key.entryName + ENTRY_EXTENSION);
+		List<FileCoverageReport> reports = load(entry, key);
+		if (reports == null) {
+			reports = delegate.parse(reportFile);
+			store(entry, key, reports);
+		}
+
+		return reports.stream()
+				.filter(r -> fileFilter.test(r.getFileName()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return cache 된 커버리지, 없거나 report 가 바뀌었으면 null
+	 */
+	private List<FileCoverageReport> load(Path entry, CacheKey key) {
+		List<FileCoverageReport> reports;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry), 64 * 1024))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION
+					|| !key.path.equals(in.readUTF()) || !key.parser.equals(in.readUTF())
+					|| in.readLong() != key.size || in.readLong() != key.modifiedTime
+					|| in.readLong() != key.contentHash()) {
+				log.debug("stale coverage cache {}", entry);
+				return null;
+			}
+
+			int count = in.readInt();
+			reports = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String fileName = in.readUTF();
+				String type = in.readBoolean() ? in.readUTF() : null;
+				reports.add(new FileCoverageReport(fileName, type, LineCoverage.readFrom(in)));
+			}
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			log.warn("broken coverage cache {}", entry, e);
+			delete(entry);
+			return null;
+		}
+
+		// 읽기 전용이거나 공유된 cache 디렉토리에서는 사용 시간을 남기지 못해도 entry 는 사용한다.
+		try {
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			log.debug("fail to touch coverage cache {}", entry, e);
+		}
+		log.info("use coverage cache {} of {}", entry, key.path);
+		return reports;
+	}
+
+	private void store(Path entry, CacheKey key, List<FileCoverageReport> reports) {
+		Path temp = null;
+		try {
+			Files.createDirectories(cacheDirectory);
+			temp = Files.createTempFile(cacheDirectory, key.entryName, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(key.path);
+				out.writeUTF(key.parser);
+				out.writeLong(key.size);
+				out.writeLong(key.modifiedTime);
+				out.writeLong(key.contentHash());
+				out.writeInt(reports.size());
+				for (FileCoverageReport report : reports) {
+					out.writeUTF(report.getFileName());
+					out.writeBoolean(report.getType() != null);
+					if (report.getType() != null) out.writeUTF(report.getType());
+					report.getLineCoverage().writeTo(out);
+				}
+			}
+			// 다른 checker 가 같은 entry 를 읽고 있어도 완성된 파일만 보이도록 옮긴다.
+			Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			log.debug("store coverage cache {} of {}", entry, key.path);
+		} catch (IOException e) {
+			log.warn("fail to store coverage cache {}", entry, e);
+			if (temp != null) delete(temp);
+			return;
+		}
+		evict();
+	}
+
+	/**
+	 * 최근에 사용하지 않은 entry 부터 지워서 cache 디렉토리를 {@link #maxCacheBytes} 이하로 유지한다.
+	 */
+	private void evict() {
+		Map<Path, BasicFileAttributes> entries = new HashMap<>();
+		long total = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, "*" + ENTRY_EXTENSION)) {
+			for (Path file : files) {
+				BasicFileAttributes attr = Files.readAttributes(file, BasicFileAttributes.class);
+				entries.put(file, attr);
+				total += attr.size();
+			}
+		} catch (IOException e) {
+			log.warn("fail to list coverage cache {}", cacheDirectory, e);
+			return;
+		}
+		if (total <= maxCacheBytes) return;
+
+		List<Path> leastRecentlyUsed = new ArrayList<>(entries.keySet());
+		leastRecentlyUsed.sort(Comparator.comparing(p -> entries.get(p).lastModifiedTime()));
+		for (Path file : leastRecentlyUsed) {
+			if (total <= maxCacheBytes) break;
+			log.debug("evict coverage cache {}", file);
+			delete(file);
+			total -= entries.get(file).size();
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("fail to delete {}", file, e);
+		}
+	}
+
+	private static final class CacheKey {
+		private final File reportFile;
+		private final String path;
+		private final String parser;
+		private final long size;
+		private final long modifiedTime;
+		private final String entryName;
+		private long contentHash = -1;
+
+		private CacheKey(File reportFile, String path, String parser, long size, long modifiedTime) {
+			this.reportFile = reportFile;
+			this.path = path;
+			this.parser = parser;
+			this.size = size;
+			this.modifiedTime = modifiedTime;
+			this.entryName = sha1(parser + '\0' + path);
+		}
+
+		static CacheKey of(File reportFile, String parser) throws IOException {
+			BasicFileAttributes attr = Files.readAttributes(reportFile.toPath(), BasicFileAttributes.class);
+			return new CacheKey(reportFile, reportFile.getCanonicalPath(), parser
+					, attr.size(), attr.lastModifiedTime().toMillis());
+		}
+
+		/**
+		 * report 전체를 읽어야 하므로 크기와 수정 시간이 같을 때만 계산한다.
+		 */
+		long contentHash() throws IOException {
+			if (contentHash >= 0) return contentHash;
+
+			CRC32 crc = new CRC32();
+			ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+			try (FileChannel channel = FileChannel.open(reportFile.toPath(), StandardOpenOption.READ)) {
+				while (channel.read(buffer) >= 0) {
+					buffer.flip();
+					crc.update(buffer);
+					buffer.clear();
+				}
+			}
+			contentHash = crc.getValue();
+			return contentHash;
+		}
+
+		private static String sha1(String value) {
+			try {
+				byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+				StringBuilder sb = new StringBuilder(digest.length * 2);
+				for (byte b : digest) sb.append(String.format("%02x", b));
+				return sb.toString();
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
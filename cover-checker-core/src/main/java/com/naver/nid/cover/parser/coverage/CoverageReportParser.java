@@ -22,15 +22,49 @@ import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public interface CoverageReportParser {
 
 	List<FileCoverageReport> parse(File reportFile);
 
+	/**
+	 * <p>fileFilter 를 통과하는 파일의 커버리지만 읽는다.</p>
+	 *
+	 * <p>Parse only the files accepted by fileFilter. Implementations should skip the other files while reading
+	 * the report, this default implementation filters after a full parse.</p>
+	 *
+	 * @param reportFile report file or directory
+	 * @param fileFilter test source file path of the report (ex. com/naver/Test.java)
+	 * @return coverage of accepted files
+	 */
+	default List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
+		return parse(reportFile).stream()
+				.filter(r -> fileFilter.test(r.getFileName()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * <p>같은 report 파일의 파싱 결과를 바꾸는 설정까지 포함한 식별자. {@link CachingCoverageReportParser} 의 cache key 로 사용한다.</p>
+	 *
+	 * <p>Parsers whose result also depends on other inputs than the report file should return null so that they are
+	 * never cached.</p>
+	 *
+	 * @return cache 식별자, null 이면 cache 하지 않는다.
+	 */
+	default String getCacheIdentity() {
+		return getClass().getName();
+	}
+
 	default List<FileCoverageReport> parse(String reportPath) {
 		return parse(new File(reportPath));
 	}
 
+	default List<FileCoverageReport> parse(String reportPath, Predicate<String> fileFilter) {
+		return parse(new File(reportPath), fileFilter);
+	}
+
 	default List<FileCoverageReport> parse(URL reportPath) {
 		try {
 			return parse(new File(reportPath.toURI()));
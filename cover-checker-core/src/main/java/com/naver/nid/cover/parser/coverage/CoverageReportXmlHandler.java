@@ -19,7 +19,22 @@ import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import org.xml.sax.helpers.DefaultHandler;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public abstract class CoverageReportXmlHandler extends DefaultHandler {
+
+	private Predicate<String> fileFilter = f -> true;
+
 	public abstract List<FileCoverageReport> getReports();
+
+	/**
+	 * @param fileFilter 통과하지 못한 파일은 라인 정보를 읽지 않는다.
+	 */
+	public void setFileFilter(Predicate<String> fileFilter) {
+		this.fileFilter = fileFilter;
+	}
+
+	protected boolean isTargetFile(String fileName) {
+		return fileFilter.test(fileName);
+	}
 }
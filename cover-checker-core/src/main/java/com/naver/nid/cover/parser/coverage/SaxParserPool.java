@@ -0,0 +1,76 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.coverage;
+
+import com.naver.nid.cover.parser.coverage.exception.ParseException;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>DTD 를 읽지 않도록 설정한 {@link SAXParser} 를 재사용한다. SAXParser 는 thread safe 하지 않으므로
+ * 사용하는 동안에는 한 thread 만 가지고 있고, 동시에 parse 하는 수 만큼만 만들어진다.</p>
+ */
+final class SaxParserPool {
+	private static final SaxParserPool INSTANCE = new SaxParserPool();
+
+	private final SAXParserFactory factory;
+	private final Queue<SAXParser> idle = new ConcurrentLinkedQueue<>();
+
+	private SaxParserPool() {
+		factory = SAXParserFactory.newInstance();
+		try {
+			factory.setFeature("http://xml.org/sax/features/validation", false);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+			factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+		} catch (ParserConfigurationException | SAXException e) {
+			throw new ParseException(e);
+		}
+		factory.setValidating(false); // disable xml DTD check
+	}
+
+	static SaxParserPool getInstance() {
+		return INSTANCE;
+	}
+
+	SAXParser borrow() {
+		SAXParser parser = idle.poll();
+		return parser != null ? parser : create();
+	}
+
+	/**
+	 * 상태를 초기화하고 다시 사용할 수 있도록 돌려놓는다.
+	 */
+	void release(SAXParser parser) {
+		parser.reset();
+		idle.offer(parser);
+	}
+
+	// SAXParserFactory 는 thread safe 하지 않다.
+	private synchronized SAXParser create() {
+		try {
+			return factory.newSAXParser();
+		} catch (ParserConfigurationException | SAXException e) {
+			throw new ParseException(e);
+		}
+	}
+}
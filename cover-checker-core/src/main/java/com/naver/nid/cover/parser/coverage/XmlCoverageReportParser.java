@@ -15,45 +15,62 @@
  */
 package com.naver.nid.cover.parser.coverage;
 
+import com.naver.nid.cover.parser.CompressedInputs;
 import com.naver.nid.cover.parser.coverage.exception.ParseException;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
-import javax.xml.stream.XMLInputFactory;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+/**
+ * xml coverage report 를 SAX 로 읽는다. gzip 으로 압축된 report 는 magic byte 로 판단해 읽으면서 압축을 푼다.
+ * handler 는 parse 마다 새로 만들고 SAXParser 는 재사용하므로 여러 report 를 동시에 parse 할 수 있다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public final class XmlCoverageReportParser implements CoverageReportParser {
 
-	private final CoverageReportXmlHandler handler;
+	private final Supplier<? extends CoverageReportXmlHandler> handlerFactory;
+
+	/**
+	 * handler 에 따라 jacoco, cobertura report 를 읽으므로 handler 종류를 포함한다.
+	 */
+	@Override
+	public String getCacheIdentity() {
+		return getClass().getName() + ":" + handlerFactory.get().getClass().getName();
+	}
 
 	@Override
 	public List<FileCoverageReport> parse(File reportFile) {
-		SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
-		try {
-			saxParserFactory.setFeature("http://xml.org/sax/features/validation", false);
-			saxParserFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
-			saxParserFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-			saxParserFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-			saxParserFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-			saxParserFactory.setValidating(false); // disable xml DTD check
-			log.debug("parse {}", reportFile.getName());
-			SAXParser saxParser = saxParserFactory.newSAXParser();
-			saxParser.parse(reportFile, handler);
-			XMLInputFactory factory = XMLInputFactory.newInstance();
-			log.debug("FACTORY: {}", factory);
+		return parse(reportFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
+		log.debug("parse {}", reportFile.getName());
+		CoverageReportXmlHandler handler = handlerFactory.get();
+		handler.setFileFilter(fileFilter);
 
+		SaxParserPool pool = SaxParserPool.getInstance();
+		SAXParser saxParser = pool.borrow();
+		try (InputStream in = CompressedInputs.open(reportFile)) {
+			InputSource source = new InputSource(in);
+			source.setSystemId(reportFile.toURI().toString());
+			saxParser.parse(source, handler);
 			return handler.getReports();
-		} catch (ParserConfigurationException | SAXException | IOException e) {
+		} catch (SAXException | IOException e) {
 			throw new ParseException(e);
+		} finally {
+			pool.release(saxParser);
 		}
 	}
 }
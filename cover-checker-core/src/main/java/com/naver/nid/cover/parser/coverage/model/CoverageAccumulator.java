@@ -0,0 +1,67 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.coverage.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>여러 report 의 파일별 커버리지를 파일 이름으로 모은다. 같은 파일이 여러 번 추가되면
+ * {@link LineCoverage#merge(LineCoverage)} 로 라인 단위로 합친다.</p>
+ *
+ * <p>Report parsers running concurrently add their result as soon as they finish; only the bin of a duplicated file
+ * name is locked while it is merged, so the accumulated coverage is never copied as a whole.</p>
+ *
+ * Thread safe
+ */
+public final class CoverageAccumulator {
+	private final ConcurrentMap<String, LineCoverage> coverage = new ConcurrentHashMap<>();
+
+	public static CoverageAccumulator of(Collection<FileCoverageReport> reports) {
+		return new CoverageAccumulator().addAll(reports);
+	}
+
+	public CoverageAccumulator add(FileCoverageReport report) {
+		coverage.merge(report.getFileName(), report.getLineCoverage(), LineCoverage::merge);
+		return this;
+	}
+
+	public CoverageAccumulator addAll(Collection<FileCoverageReport> reports) {
+		for (FileCoverageReport report : reports) {
+			add(report);
+		}
+		return this;
+	}
+
+	/**
+	 * @return 파일 이름별 커버리지, 이후에 추가되는 report 도 반영된다.
+	 */
+	public Map<String, LineCoverage> getCoverage() {
+		return Collections.unmodifiableMap(coverage);
+	}
+
+	public int size() {
+		return coverage.size();
+	}
+
+	@Override
+	public String toString() {
+		return "CoverageAccumulator" + coverage.keySet();
+	}
+}
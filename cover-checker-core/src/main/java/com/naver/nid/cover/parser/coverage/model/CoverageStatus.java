@@ -27,7 +27,23 @@ public enum CoverageStatus {
 	 */
 	public final int order;
 
+	private static final CoverageStatus[] BY_ORDER = new CoverageStatus[values().length];
+
+	static {
+		for (CoverageStatus status : values()) {
+			BY_ORDER[status.order] = status;
+		}
+	}
+
 	CoverageStatus(int order) {
 		this.order = order;
 	}
+
+	/**
+	 * @param order {@link #order} 값
+	 * @return order 에 해당하는 상태
+	 */
+	public static CoverageStatus ofOrder(int order) {
+		return BY_ORDER[order];
+	}
 }
@@ -20,7 +20,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Data
 @AllArgsConstructor
@@ -28,10 +27,26 @@ import java.util.stream.Collectors;
 public class FileCoverageReport {
 	private String fileName;
 	private String type;
-	private List<LineCoverageReport> lineCoverageReportList;
+	private LineCoverage lineCoverage = LineCoverage.EMPTY;
+
+	/**
+	 * @deprecated 라인마다 객체를 만들기 때문에 {@link #getLineCoverage()} 를 사용
+	 */
+	@Deprecated
+	public List<LineCoverageReport> getLineCoverageReportList() {
+		return lineCoverage.toLineCoverageReportList();
+	}
+
+	/**
+	 * @deprecated {@link #setLineCoverage(LineCoverage)} 를 사용
+	 */
+	@Deprecated
+	public void setLineCoverageReportList(List<LineCoverageReport> lineCoverageReportList) {
+		this.lineCoverage = LineCoverage.of(lineCoverageReportList);
+	}
 
 	@Override
 	public String toString() {
-		return String.format("%s %s%n%s", fileName, type, lineCoverageReportList.stream().map(LineCoverageReport::toString).collect(Collectors.joining("\n")));
+		return String.format("%s %s%n%s", fileName, type, lineCoverage);
 	}
 }
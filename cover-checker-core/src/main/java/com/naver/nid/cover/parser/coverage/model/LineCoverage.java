@@ -0,0 +1,188 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.coverage.model;
+
+import lombok.EqualsAndHashCode;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>파일 한 개의 라인별 커버 상태를 라인 번호로 접근하는 byte 배열로 저장한다.</p>
+ *
+ * <p>Packed line coverage of a single file. The status of line {@code firstLine + i} is stored
+ * as {@link CoverageStatus#order} in {@code status[i]}, lines without status are {@link CoverageStatus#NOTHING}.</p>
+ *
+ * Immutable
+ */
+@EqualsAndHashCode
+public final class LineCoverage {
+	public static final LineCoverage EMPTY = new LineCoverage(0, new byte[0]);
+
+	private final int firstLine;
+	private final byte[] status;
+
+	private LineCoverage(int firstLine, byte[] status) {
+		this.firstLine = firstLine;
+		this.status = status;
+	}
+
+	/**
+	 * @param lineNum 라인 번호
+	 * @return 라인의 커버 상태, 리포트에 없는 라인은 {@link CoverageStatus#NOTHING}
+	 */
+	public CoverageStatus getStatus(int lineNum) {
+		int i = lineNum - firstLine;
+		if (i < 0 || i >= status.length) return CoverageStatus.NOTHING;
+		return CoverageStatus.ofOrder(status[i]);
+	}
+
+	public int getFirstLine() {
+		return firstLine;
+	}
+
+	public int getLastLine() {
+		return firstLine + status.length - 1;
+	}
+
+	public boolean isEmpty() {
+		return status.length == 0;
+	}
+
+	/**
+	 * 같은 파일의 두 리포트를 합친다. 같은 라인은 {@link CoverageStatus#order} 가 높은 상태를 따른다.
+	 */
+	public LineCoverage merge(LineCoverage other) {
+		if (other.isEmpty()) return this;
+		if (isEmpty()) return other;
+
+		return builder().addAll(this).addAll(other).build();
+	}
+
+	/**
+	 * 기존 {@link LineCoverageReport} 목록 형태로 변환, 상태가 없는 라인은 포함하지 않는다.
+	 */
+	public List<LineCoverageReport> toLineCoverageReportList() {
+		List<LineCoverageReport> result = new ArrayList<>();
+		for (int i = 0; i < status.length; i++) {
+			if (status[i] == 0) continue;
+
+			LineCoverageReport report = new LineCoverageReport();
+			report.setLineNum(firstLine + i);
+			report.setStatus(CoverageStatus.ofOrder(status[i]));
+			report.setLineContent("");
+			result.add(report);
+		}
+		return result;
+	}
+
+	/**
+	 * 상태를 라인마다 2bit 로 묶어서 쓴다. {@link #readFrom(DataInput)} 로 다시 읽는다.
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		out.writeInt(firstLine);
+		out.writeInt(status.length);
+		byte[] packed = new byte[(status.length + 3) / 4];
+		for (int i = 0; i < status.length; i++) {
+			packed[i >> 2] |= status[i] << ((i & 3) << 1);
+		}
+		out.write(packed);
+	}
+
+	public static LineCoverage readFrom(DataInput in) throws IOException {
+		int firstLine = in.readInt();
+		int length = in.readInt();
+		if (length == 0) return EMPTY;
+
+		byte[] packed = new byte[(length + 3) / 4];
+		in.readFully(packed);
+		byte[] status = new byte[length];
+		for (int i = 0; i < length; i++) {
+			status[i] = (byte) ((packed[i >> 2] >> ((i & 3) << 1)) & 3);
+		}
+		return new LineCoverage(firstLine, status);
+	}
+
+	public static LineCoverage of(List<LineCoverageReport> lineCoverageReportList) {
+		Builder builder = builder();
+		for (LineCoverageReport report : lineCoverageReportList) {
+			builder.add(report.getLineNum(), report.getStatus());
+		}
+		return builder.build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < status.length; i++) {
+			if (status[i] == 0) continue;
+			if (sb.length() > 0) sb.append('\n');
+			sb.append(firstLine + i).append('(').append(CoverageStatus.ofOrder(status[i])).append(')');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 라인 번호 순서와 관계없이 상태를 추가할 수 있는 builder
+	 * <p>
+	 * Thread non-safe
+	 */
+	public static final class Builder {
+		private byte[] status = new byte[64];
+		private int minLine = Integer.MAX_VALUE;
+		private int maxLine = -1;
+
+		private Builder() {
+		}
+
+		/**
+		 * 같은 라인이 여러 번 추가되면 {@link CoverageStatus#order} 가 높은 상태를 따른다.
+		 */
+		public Builder add(int lineNum, CoverageStatus lineStatus) {
+			if (lineNum < 0 || lineStatus == null || lineStatus == CoverageStatus.NOTHING) return this;
+
+			if (lineNum >= status.length) {
+				status = Arrays.copyOf(status, Math.max(lineNum + 1, status.length * 2));
+			}
+			if (status[lineNum] < lineStatus.order) {
+				status[lineNum] = (byte) lineStatus.order;
+			}
+			if (lineNum < minLine) minLine = lineNum;
+			if (lineNum > maxLine) maxLine = lineNum;
+			return this;
+		}
+
+		public Builder addAll(LineCoverage coverage) {
+			for (int i = 0; i < coverage.status.length; i++) {
+				if (coverage.status[i] != 0) add(coverage.firstLine + i, CoverageStatus.ofOrder(coverage.status[i]));
+			}
+			return this;
+		}
+
+		public LineCoverage build() {
+			if (maxLine < 0) return EMPTY;
+			return new LineCoverage(minLine, Arrays.copyOfRange(status, minLine, maxLine + 1));
+		}
+	}
+}
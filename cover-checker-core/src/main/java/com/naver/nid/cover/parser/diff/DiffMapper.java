@@ -15,18 +15,15 @@
  */
 package com.naver.nid.cover.parser.diff;
 
-import com.naver.nid.cover.parser.diff.exception.ParseException;
 import com.naver.nid.cover.parser.diff.model.*;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 /**
  * 1차로 파싱된 {@link RawDiff}를 {@link Diff}로 파싱
@@ -36,13 +33,33 @@ import java.util.stream.Stream;
 @Slf4j
 public class DiffMapper implements Function<RawDiff, Diff> {
 	private static final DiffMapper DEFAULT = new DiffMapper();
+	private static final DiffMapper ADDED_LINES_ONLY = new DiffMapper(true);
 	public static DiffMapper getDefault() {
 		return DEFAULT;
 	}
 
-	private static final Pattern NEW_FILE_COUNT_PATTERN = Pattern.compile("\\+([0-9]+),([0-9]+)");
-	private static final Pattern SINGLE_LINE_FILE_COUNT_PATTERN = Pattern.compile("\\+([0-9]+)");
-	private static final Pattern SECTION_START_PATTERN = Pattern.compile("@@ -([0-9]+),?([0-9]+)? \\+([0-9]+),?([0-9]+)? @@");
+	/**
+	 * @return {@link DiffSection} 과 {@link Line} 없이 추가된 라인 번호만 {@link Diff#getAddedLines()} 에 남기는 mapper
+	 */
+	public static DiffMapper getAddedLinesOnly() {
+		return ADDED_LINES_ONLY;
+	}
+
+	private static final String HUNK_HEADER_PREFIX = "@@ -";
+	private static final int MAX_NUMBER_LENGTH = 9;
+
+	private final boolean addedLinesOnly;
+
+	public DiffMapper() {
+		this(false);
+	}
+
+	/**
+	 * @param addedLinesOnly true 이면 라인 내용과 변경되지 않은/삭제된 라인을 버리고 추가된 라인 번호만 남긴다.
+	 */
+	public DiffMapper(boolean addedLinesOnly) {
+		this.addedLinesOnly = addedLinesOnly;
+	}
 
 	@Override
 	public Diff apply(RawDiff rawDiff) {
@@ -65,37 +82,28 @@ public class DiffMapper implements Function<RawDiff, Diff> {
 		// set diff detail
 		if (rawDiff.getType() == FileType.BINARY) {
 			diff.setDiffSectionList(Collections.emptyList());
+			if (addedLinesOnly) diff.setAddedLines(new int[0]);
 			return diff;
 		}
 
-		Optional<List<DiffSection>> diffSectionList = getDiffSectionListFromRawDiff(rawDiff);
-		if (!diffSectionList.isPresent()) {
+		List<DiffSection> diffSectionList = addedLinesOnly ? Collections.emptyList() : new ArrayList<>();
+		LineNumberBuffer addedLines = addedLinesOnly ? new LineNumberBuffer() : null;
+		if (!parseHunks(rawDiff, addedLinesOnly ? null : diffSectionList, addedLines)) {
 			log.error("unexpected diff type {}", rawDiff);
 			return null;
 		}
 
-		diff.setDiffSectionList(diffSectionList.get());
-		return diff;
-	}
-
-	private int getBodyLine(RawDiff rawDiff) {
-		for (int i = 0; i < rawDiff.size(); i++) {
-			String line = rawDiff.getRawDiffLine(i);
-			if (isSectionStart(line)) {
-				return i;
-			}
+		if (rawDiff.isTruncated()) {
+			// 라인 수 제한을 넘은 파일은 일부만 읽었으므로 검사하지 않는다.
+			log.warn("skip truncated diff {}", fileName.get());
+			diff.setDiffSectionList(Collections.emptyList());
+			if (addedLinesOnly) diff.setAddedLines(new int[0]);
+			return diff;
 		}
 
-		return -1;
-	}
-
-	private boolean isSectionStart(String currLine) {
-		Matcher matcher = SECTION_START_PATTERN.matcher(currLine.trim());
-		return matcher.find();
-	}
-
-	private boolean isEof(String line) {
-		return line.contains("\\ No newline at end of file");
+		diff.setDiffSectionList(diffSectionList);
+		if (addedLinesOnly) diff.setAddedLines(addedLines.toSortedArray());
+		return diff;
 	}
 
 	private String removeNewFilePrefix(String path) {
@@ -105,63 +113,141 @@ public class DiffMapper implements Function<RawDiff, Diff> {
 		return path;
 	}
 
-	private Optional<List<DiffSection>> getDiffSectionListFromRawDiff(RawDiff rawDiff) {
-		List<DiffSection> diffSectionList = new ArrayList<>();
-		DiffSection section = null;
-
-		// find modified lines
-		int baseLineNum = -1;
-		int lineCnt = -1;
-		int bodyLine = getBodyLine(rawDiff);
-		if (bodyLine == -1) {
+	/**
+	 * hunk header 에 적힌 라인 수만큼 본문을 읽고 다음 hunk header 로 넘어간다.
+	 * 본문 라인은 첫 글자로만 구분하고, hunk header 는 hunk 사이에서만 확인한다.
+	 *
+	 * @param diffSectionList hunk 별 라인을 담을 목록, null 이면 {@link Line} 을 만들지 않는다.
+	 * @param addedLines      추가된 라인 번호를 담을 buffer, null 이면 모으지 않는다.
+	 * @return hunk 를 찾지 못했거나 hunk header 형식이 맞지 않으면 false
+	 */
+	private boolean parseHunks(RawDiff rawDiff, List<DiffSection> diffSectionList, LineNumberBuffer addedLines) {
+		// 라인을 읽는 대로 처리하므로 본문 전체가 메모리에 있지 않아도 된다.
+		Iterator<String> lines = rawDiff.lineIterator();
+		String currLine = nextHunkHeader(lines);
+		if (currLine == null) {
 			log.warn("unknown diff pattern {}", rawDiff.getRawDiff());
-			return Optional.empty();
+			return false;
 		}
 
-		for (int i = bodyLine; i < rawDiff.size(); i++) {
-			String currLine = rawDiff.getRawDiffLine(i);
-			log.debug("parse line {}", currLine);
-			if (isEof(currLine)) continue;
-			if (isSectionStart(currLine)) {
-
-				// get matcher which matched section pattern
-				Optional<Matcher> matchedPattern = Stream.of(NEW_FILE_COUNT_PATTERN, SINGLE_LINE_FILE_COUNT_PATTERN)
-						.map(p -> p.matcher(currLine))
-						.filter(Matcher::find)
-						.findFirst();
-
-				// current line is not matched any start pattern
-				if (!matchedPattern.isPresent()) {
-					log.error("not expect pattern {}", currLine);
-					return Optional.empty();
-				}
-				Matcher matcher = matchedPattern.get();
-				baseLineNum = Integer.parseInt(matcher.group(1));
-				lineCnt = 0;
+		while (currLine != null) {
+			HunkHeader hunk = HunkHeader.parse(currLine);
+			if (hunk == null) {
+				log.error("not expect pattern {}", currLine);
+				return false;
+			}
 
-				if (section != null) {
-					diffSectionList.add(section);
+			DiffSection section = diffSectionList == null ? null : new DiffSection(new ArrayList<>());
+			int oldRemain = hunk.oldCount;
+			int newRemain = hunk.newCount;
+			int lineNum = hunk.newStart;
+			while ((oldRemain > 0 || newRemain > 0) && lines.hasNext()) {
+				currLine = lines.next();
+				log.debug("parse line {}", currLine);
+
+				// 공백까지 지워진 빈 라인은 변경 없는 라인으로 본다.
+				char type = currLine.isEmpty() ? ' ' : currLine.charAt(0);
+				switch (type) {
+					case '+':
+						if (addedLines != null) addedLines.add(lineNum);
+						if (section != null) section.addLine(new Line(lineNum, ModifyType.ADD, body(currLine)));
+						lineNum++;
+						newRemain--;
+						break;
+					case '-':
+						if (section != null) section.addLine(new Line(lineNum, ModifyType.DEL, body(currLine)));
+						oldRemain--;
+						break;
+					case '\\': // \ No newline at end of file
+						break;
+					default:
+						if (section != null) section.addLine(new Line(lineNum, ModifyType.NOTHING, body(currLine)));
+						lineNum++;
+						oldRemain--;
+						newRemain--;
 				}
-				section = new DiffSection();
-			} else if (currLine.length() > 0) { // 완전히 빈 라인은 확인하지 않는다.
-				Line line = Line.builder()
-						.type(ModifyType.of(currLine.charAt(0)))
-						.body(currLine.substring(1)) // + / - 제거
-						.lineNumber(baseLineNum + lineCnt).build();
-				if (section == null) {
-					log.error("section parse first {}", currLine);
-					throw new ParseException(new IllegalStateException("section not found"));
-				}
-				section.addLine(line);
-				if (line.getType() != ModifyType.DEL) lineCnt++;
 			}
+			if (section != null) diffSectionList.add(section);
+			currLine = nextHunkHeader(lines);
 		}
 
-		if (section != null) {
-			diffSectionList.add(section); // 마지막 섹션 추가
+		return true;
+	}
+
+	/**
+	 * hunk 사이의 "\ No newline at end of file" 등은 건너뛴다.
+	 *
+	 * @return 다음 hunk header, 없으면 null
+	 */
+	private String nextHunkHeader(Iterator<String> lines) {
+		while (lines.hasNext()) {
+			String line = lines.next();
+			if (line.startsWith(HUNK_HEADER_PREFIX)) return line;
+
+			log.debug("skip line {}", line);
 		}
+		return null;
+	}
+
+	private String body(String line) {
+		return line.isEmpty() ? line : line.substring(1); // + / - 제거
+	}
 
-		return Optional.of(diffSectionList);
+	/**
+	 * "@@ -a,b +c,d @@" 형태의 hunk header, 생략된 라인 수는 1 이다.
+	 */
+	static final class HunkHeader {
+		final int oldStart;
+		final int oldCount;
+		final int newStart;
+		final int newCount;
+
+		private HunkHeader(int oldStart, int oldCount, int newStart, int newCount) {
+			this.oldStart = oldStart;
+			this.oldCount = oldCount;
+			this.newStart = newStart;
+			this.newCount = newCount;
+		}
+
+		/**
+		 * 정규식 없이 앞에서부터 숫자를 읽는다.
+		 *
+		 * @return 형식이 맞지 않으면 null
+		 */
+		static HunkHeader parse(String line) {
+			if (!line.startsWith(HUNK_HEADER_PREFIX)) return null;
+
+			int[] cursor = {HUNK_HEADER_PREFIX.length()};
+			int oldStart = readNumber(line, cursor);
+			int oldCount = readCount(line, cursor);
+			if (oldStart < 0 || oldCount < 0 || !line.startsWith(" +", cursor[0])) return null;
+
+			cursor[0] += 2;
+			int newStart = readNumber(line, cursor);
+			int newCount = readCount(line, cursor);
+			if (newStart < 0 || newCount < 0 || !line.startsWith(" @@", cursor[0])) return null;
+
+			return new HunkHeader(oldStart, oldCount, newStart, newCount);
+		}
+
+		private static int readCount(String line, int[] cursor) {
+			if (cursor[0] >= line.length() || line.charAt(cursor[0]) != ',') return 1;
+			cursor[0]++;
+			return readNumber(line, cursor);
+		}
+
+		private static int readNumber(String line, int[] cursor) {
+			int start = cursor[0];
+			int value = 0;
+			int i = start;
+			for (; i < line.length() && i - start < MAX_NUMBER_LENGTH; i++) {
+				char c = line.charAt(i);
+				if (c < '0' || c > '9') break;
+				value = value * 10 + (c - '0');
+			}
+			cursor[0] = i;
+			return i == start ? -1 : value;
+		}
 	}
 
 }
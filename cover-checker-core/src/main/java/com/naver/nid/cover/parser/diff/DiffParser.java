@@ -15,11 +15,23 @@
  */
 package com.naver.nid.cover.parser.diff;
 
+import com.naver.nid.cover.parser.diff.exception.ParseException;
 import com.naver.nid.cover.parser.diff.model.Diff;
 import com.naver.nid.cover.parser.diff.model.RawDiff;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -27,6 +39,7 @@ import java.util.stream.StreamSupport;
 public abstract class DiffParser implements Iterator<RawDiff> {
 
 	private final DiffMapper diffMapper;
+	private Predicate<String> pathFilter = PathFilter.ALL;
 
 	public DiffParser() {
 		this(DiffMapper.getDefault());
@@ -37,11 +50,98 @@ public abstract class DiffParser implements Iterator<RawDiff> {
 		log.debug("init with mapper {}", diffMapper.getClass().getSimpleName());
 	}
 
+	/**
+	 * diff header 에서 파일 경로를 읽는 즉시 적용할 filter. 제외된 파일의 라인은 모으지 않고 건너뛴다.
+	 *
+	 * @param pathFilter 'b/' 가 제거된 파일 경로를 받아 대상 여부를 반환
+	 */
+	public void setPathFilter(Predicate<String> pathFilter) {
+		this.pathFilter = pathFilter;
+	}
+
+	protected boolean isTargetPath(String path) {
+		if (pathFilter.test(path)) return true;
+
+		log.debug("skip excluded file {}", path);
+		return false;
+	}
+
 	public Stream<Diff> parse() {
 		return StreamSupport.stream(this.toIterable().spliterator(), false).map(diffMapper);
 	}
 
+	/**
+	 * <p>{@link RawDiff} 는 stream 을 소비하는 thread 에서 순서대로 읽고, {@link DiffMapper} 변환만 worker thread 에서 나누어 실행한다.
+	 * 결과는 {@link #parse()} 와 같은 순서로 나오며, 변환 중인 파일은 parallelism 의 두 배로 제한된다.</p>
+	 *
+	 * <p>Ordered parallel variant of {@link #parse()}. The returned stream must be closed to release the worker threads
+	 * when it is not consumed to the end.</p>
+	 *
+	 * @param parallelism 변환 thread 수, 1 이하이면 {@link #parse()} 와 같다.
+	 */
+	public Stream<Diff> parse(int parallelism) {
+		if (parallelism <= 1) return parse();
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+			Thread thread = new Thread(r, "diff-mapper-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		Iterator<Diff> ordered = new OrderedMappingIterator(workers, parallelism * 2);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(ordered, Spliterator.ORDERED), false)
+				.onClose(workers::shutdownNow);
+	}
+
 	private Iterable<RawDiff> toIterable() {
 		return () -> this;
 	}
+
+	/**
+	 * 읽은 순서대로 변환 결과를 꺼내는 iterator, 앞쪽 window 만큼의 파일만 미리 읽어 worker 에 넘긴다.
+	 */
+	private final class OrderedMappingIterator implements Iterator<Diff> {
+		private final ExecutorService workers;
+		private final int window;
+		private final Deque<Future<Diff>> pending;
+
+		private OrderedMappingIterator(ExecutorService workers, int window) {
+			this.workers = workers;
+			this.window = window;
+			this.pending = new ArrayDeque<>(window);
+		}
+
+		@Override
+		public boolean hasNext() {
+			fill();
+			if (pending.isEmpty()) {
+				workers.shutdown();
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public Diff next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			try {
+				return pending.poll().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ParseException(e);
+			} catch (ExecutionException e) {
+				workers.shutdownNow();
+				if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+				throw new ParseException(e.getCause());
+			}
+		}
+
+		private void fill() {
+			while (pending.size() < window && DiffParser.this.hasNext()) {
+				RawDiff rawDiff = DiffParser.this.next();
+				if (RawDiff.isFinish(rawDiff)) break;
+				pending.add(workers.submit(() -> diffMapper.apply(rawDiff)));
+			}
+		}
+	}
 }
@@ -15,20 +15,27 @@
  */
 package com.naver.nid.cover.parser.diff;
 
+import com.naver.nid.cover.parser.CompressedInputs;
 import com.naver.nid.cover.parser.diff.exception.ParseException;
+import com.naver.nid.cover.parser.diff.model.Diff;
 import com.naver.nid.cover.parser.diff.model.FileType;
 import com.naver.nid.cover.parser.diff.model.RawDiff;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 
 /**
- * diff 목록 중 하나의 파일만을 읽는다.
+ * diff 목록 중 하나의 파일만을 읽는다. gzip 으로 압축된 diff 파일은 읽으면서 압축을 푼다.
  * <p>
  * Thread non-safe
  */
@@ -37,10 +44,20 @@ public class FileDiffReader extends DiffParser {
 
 	private BufferedReader reader;
 	private String beforeHeader;
+	private boolean headerChecked; // beforeHeader 에 path filter 를 적용했는지 여부
+
+	private boolean streamLines;
+	private int maxLinesPerFile;
+	private RemainingLines pending; // 아직 다 읽지 않은 이전 파일의 라인
 
 	public FileDiffReader(String path) {
+		this(path, DiffMapper.getDefault());
+	}
+
+	public FileDiffReader(String path, DiffMapper diffMapper) {
+		super(diffMapper);
 		try {
-			this.reader = new BufferedReader(new FileReader(path));
+			this.reader = new BufferedReader(new InputStreamReader(CompressedInputs.open(new File(path)), StandardCharsets.UTF_8));
 			beforeHeader = reader.readLine();
 		} catch (IOException e) {
 			throw new ParseException(e);
@@ -48,6 +65,11 @@ public class FileDiffReader extends DiffParser {
 	}
 
 	public FileDiffReader(BufferedReader reader) {
+		this(reader, DiffMapper.getDefault());
+	}
+
+	public FileDiffReader(BufferedReader reader, DiffMapper diffMapper) {
+		super(diffMapper);
 		try {
 			this.reader = reader;
 			beforeHeader = reader.readLine();
@@ -56,35 +78,174 @@ public class FileDiffReader extends DiffParser {
 		}
 	}
 
+	/**
+	 * 첫 hunk 이후의 라인을 {@link RawDiff} 에 모으지 않고 {@link DiffMapper} 가 읽는 대로 전달한다.
+	 * 파일 하나의 diff 가 매우 큰 경우에도 메모리에 모든 라인을 올리지 않는다.
+	 * 라인을 읽는 reader 를 공유하므로 {@link #parse(int)} 도 순서대로 변환한다.
+	 */
+	public void setStreamLines(boolean streamLines) {
+		this.streamLines = streamLines;
+	}
+
+	/**
+	 * @param maxLinesPerFile 파일 하나의 diff 라인 수 제한, 넘는 파일은 경고를 남기고 나머지 라인을 건너뛴다. 0 이하이면 제한하지 않는다.
+	 */
+	public void setMaxLinesPerFile(int maxLinesPerFile) {
+		this.maxLinesPerFile = maxLinesPerFile;
+	}
+
 	@Override
 	public boolean hasNext() {
+		if (pending != null) {
+			pending.drain();
+			pending = null;
+		}
+		skipExcludedFiles();
 		return beforeHeader != null;
 	}
 
+	/**
+	 * 제외된 파일은 라인을 모으지 않고 다음 header 까지 건너뛴다.
+	 */
+	private void skipExcludedFiles() {
+		if (headerChecked) return;
+		while (beforeHeader != null && !isTargetPath(removeNewFilePrefix(fileNameOf(beforeHeader)))) {
+			skipToNextHeader();
+		}
+		headerChecked = true;
+	}
+
+	private void skipToNextHeader() {
+		String temp;
+		do {
+			temp = readLine();
+		} while (temp != null && !isHeader(temp));
+		moveToHeader(temp);
+	}
+
+	private void moveToHeader(String header) {
+		beforeHeader = header;
+		headerChecked = false;
+	}
+
+	private static boolean isHeader(String line) {
+		return line.startsWith("diff --git ");
+	}
+
+	private static String fileNameOf(String header) {
+		return header.substring(header.lastIndexOf(' ') + 1);
+	}
+
+	private static String removeNewFilePrefix(String path) {
+		return path.startsWith("b/") ? path.substring(2) : path;
+	}
+
+	private String readLine() {
+		try {
+			String line = reader.readLine();
+			logger.debug("readline : {}", line);
+			return line;
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+
 	@Override
 	public RawDiff next() {
-		try {
-			List<String> list = new ArrayList<>();
-			if (!hasNext()) return RawDiff.END_OF_DIFF; // 완료 됨
-
-			String[] parsed = beforeHeader.split(" ");
-			RawDiff.RawDiffBuilder builder = RawDiff.builder().fileName(parsed[parsed.length-1]);
-
-			String temp = reader.readLine();
-			logger.debug("readline : {}", temp);
-			while (!temp.contains("diff --git ")) {
-				list.add(temp);
-				temp = reader.readLine();
-				logger.debug("readline : {}", temp);
-				if (temp == null) {
-					break;
-				}
+		if (!hasNext()) return RawDiff.END_OF_DIFF; // 완료 됨
+
+		List<String> list = new ArrayList<>();
+		RawDiff rawDiff = RawDiff.builder().fileName(fileNameOf(beforeHeader)).rawDiff(list).build();
+
+		String temp = readLine();
+		while (temp != null && !isHeader(temp)) {
+			if (maxLinesPerFile > 0 && list.size() >= maxLinesPerFile) {
+				truncate(rawDiff);
+				skipToNextHeader();
+				return withType(rawDiff);
+			}
+
+			list.add(temp);
+			if (streamLines && temp.startsWith("@@")) {
+				// 첫 hunk 이후의 라인은 DiffMapper 가 읽을 때 읽는다.
+				pending = new RemainingLines(rawDiff, list.size());
+				rawDiff.setRemainingLines(pending);
+				return withType(rawDiff);
+			}
+			temp = readLine();
+		}
+		moveToHeader(temp);
+		return withType(rawDiff);
+	}
+
+	private RawDiff withType(RawDiff rawDiff) {
+		rawDiff.setType(rawDiff.getRawDiff().stream().anyMatch(l -> l.contains("Binary files")) ? FileType.BINARY : FileType.SOURCE);
+		return rawDiff;
+	}
+
+	private void truncate(RawDiff rawDiff) {
+		logger.warn("diff of {} is longer than {} lines, skip the rest", rawDiff.getFileName(), maxLinesPerFile);
+		rawDiff.setTruncated(true);
+	}
+
+	@Override
+	public Stream<Diff> parse(int parallelism) {
+		if (streamLines) {
+			logger.info("map diff sequentially because lines are streamed");
+			return parse();
+		}
+		return super.parse(parallelism);
+	}
+
+	/**
+	 * 현재 파일의 남은 라인을 다음 header 전까지 읽는다.
+	 */
+	private final class RemainingLines implements Iterator<String> {
+		private final RawDiff rawDiff;
+		private int count;
+		private String next;
+		private boolean done;
+
+		private RemainingLines(RawDiff rawDiff, int count) {
+			this.rawDiff = rawDiff;
+			this.count = count;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next != null) return true;
+			if (done) return false;
+
+			String line = readLine();
+			if (line == null || isHeader(line)) {
+				done = true;
+				moveToHeader(line);
+				return false;
+			}
+
+			if (maxLinesPerFile > 0 && ++count > maxLinesPerFile) {
+				done = true;
+				truncate(rawDiff);
+				skipToNextHeader();
+				return false;
+			}
+
+			next = line;
+			return true;
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			String line = next;
+			next = null;
+			return line;
+		}
+
+		private void drain() {
+			while (hasNext()) {
+				next();
 			}
-			beforeHeader = temp;
-			builder.type(list.stream().anyMatch(l -> l.contains("Binary files"))? FileType.BINARY: FileType.SOURCE);
-			return builder.rawDiff(list).build();
-		} catch (Exception e) {
-			throw new ParseException(e);
 		}
 	}
 }
@@ -0,0 +1,116 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.diff;
+
+import com.naver.nid.cover.parser.diff.exception.ParseException;
+import com.naver.nid.cover.parser.diff.model.Diff;
+import com.naver.nid.cover.parser.diff.model.RawDiff;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>로컬 git 저장소에서 {@code git diff -U0 <range>} 를 실행하고 출력을 임시 파일 없이 바로 읽는다.
+ * 변경되지 않은 라인(context)을 출력하지 않으므로 diff 크기가 줄어든다.</p>
+ *
+ * <p>Streams the zero-context output of the local git binary through {@link FileDiffReader}.</p>
+ *
+ * Thread non-safe
+ */
+@Slf4j
+public class GitDiffReader extends FileDiffReader implements Closeable {
+
+	private final Process process;
+	private final List<String> command;
+
+	public GitDiffReader(File repository, String range) {
+		this(repository, range, DiffMapper.getDefault());
+	}
+
+	/**
+	 * @param repository git 명령을 실행할 디렉토리
+	 * @param range      비교할 revision 범위, 예) origin/master...HEAD
+	 * @param diffMapper {@link RawDiff} 변환
+	 */
+	public GitDiffReader(File repository, String range, DiffMapper diffMapper) {
+		this(command(range), start(repository, command(range)), diffMapper);
+	}
+
+	private GitDiffReader(List<String> command, Process process, DiffMapper diffMapper) {
+		super(new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)), diffMapper);
+		this.command = command;
+		this.process = process;
+	}
+
+	private static List<String> command(String range) {
+		return Arrays.asList("git", "-c", "core.quotepath=false", "diff", "--no-color", "--no-ext-diff", "-U0", range, "--");
+	}
+
+	private static Process start(File repository, List<String> command) {
+		log.info("run {} in {}", command, repository);
+		try {
+			return new ProcessBuilder(command)
+					.directory(repository)
+					.redirectError(ProcessBuilder.Redirect.INHERIT)
+					.start();
+		} catch (IOException e) {
+			throw new ParseException("fail to run git", e);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (super.hasNext()) return true;
+
+		waitForExit();
+		return false;
+	}
+
+	@Override
+	public Stream<Diff> parse() {
+		return super.parse().onClose(this::close);
+	}
+
+	@Override
+	public Stream<Diff> parse(int parallelism) {
+		return super.parse(parallelism).onClose(this::close);
+	}
+
+	private void waitForExit() {
+		try {
+			int exitCode = process.waitFor();
+			if (exitCode != 0) {
+				throw new ParseException(command + " exit with " + exitCode);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ParseException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		process.destroy();
+	}
+}
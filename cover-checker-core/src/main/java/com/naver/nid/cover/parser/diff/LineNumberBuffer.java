@@ -0,0 +1,46 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.diff;
+
+import java.util.Arrays;
+
+/**
+ * 추가된 라인 번호를 boxing 없이 모은다.
+ *
+ * Thread non-safe
+ */
+final class LineNumberBuffer {
+	private static final int[] EMPTY = new int[0];
+
+	private int[] lines = EMPTY;
+	private int size;
+
+	void add(int lineNumber) {
+		if (size == lines.length) {
+			lines = Arrays.copyOf(lines, Math.max(16, size * 2));
+		}
+		lines[size++] = lineNumber;
+	}
+
+	/**
+	 * @return 오름차순으로 정렬된 라인 번호
+	 */
+	int[] toSortedArray() {
+		int[] result = size == 0 ? EMPTY : Arrays.copyOf(lines, size);
+		Arrays.sort(result);
+		return result;
+	}
+}
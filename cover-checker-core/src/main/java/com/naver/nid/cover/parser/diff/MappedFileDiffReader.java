@@ -0,0 +1,377 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.diff;
+
+import com.naver.nid.cover.parser.diff.exception.ParseException;
+import com.naver.nid.cover.parser.diff.model.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>diff 파일을 memory map 으로 읽고 byte 단위로 header 와 hunk 를 찾는다.
+ * {@link #parse()} 는 파일 이름과 추가된 라인의 번호만 decode 하고 나머지 라인은 문자열로 만들지 않는다.</p>
+ *
+ * <p>Memory-mapped unified diff reader. {@link #parse()} maps bytes straight to {@link Diff} without
+ * building a {@link RawDiff}; like {@link DiffMapper#getAddedLinesOnly()} only {@link Diff#getAddedLines()} is filled.</p>
+ *
+ * Thread non-safe
+ */
+@Slf4j
+public class MappedFileDiffReader extends DiffParser implements Closeable {
+	private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private static final byte[] DIFF_HEADER = ascii("diff --git ");
+	private static final byte[] HUNK_HEADER = ascii("@@ -");
+	private static final byte[] BINARY_FILES = ascii("Binary files ");
+	private static final byte[] BINARY_PATCH = ascii("GIT binary patch");
+
+	private final FileChannel channel;
+	private final long size;
+	private int windowSize;
+
+	private MappedByteBuffer window;
+	private long windowStart;
+	private long windowEnd;
+
+	// 현재 라인은 [lineStart, lineEnd), 다음 라인은 nextLine 에서 시작한다.
+	private long lineStart;
+	private long lineEnd;
+	private long nextLine;
+
+	private String nextFileName;
+	private String checkedFileName; // path filter 를 통과한 nextFileName
+
+	private int maxLinesPerFile;
+
+	public MappedFileDiffReader(String path) {
+		this(path, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * @param path       diff 파일 경로
+	 * @param windowSize 한번에 map 할 크기, 한 라인이 이보다 길면 라인을 담을 수 있을 만큼 늘린다.
+	 */
+	public MappedFileDiffReader(String path, int windowSize) {
+		try {
+			this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+			this.size = channel.size();
+			this.windowSize = windowSize;
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+
+		// diff --git 이전의 내용(format-patch 의 메일 헤더 등)은 건너뛴다.
+		// 첫 라인은 FileDiffReader 처럼 header 로 보되, header 가 아닌 preamble 은 라인 시작에서만 찾는다.
+		boolean firstLine = true;
+		while (readLine()) {
+			if (firstLine ? contains(DIFF_HEADER) : startsWith(DIFF_HEADER)) {
+				nextFileName = fileNameOfHeader();
+				return;
+			}
+			firstLine = false;
+		}
+		close();
+	}
+
+	/**
+	 * @param maxLinesPerFile 파일 하나의 diff 라인 수 제한, 넘는 파일은 경고를 남기고 검사하지 않는다. 0 이하이면 제한하지 않는다.
+	 */
+	public void setMaxLinesPerFile(int maxLinesPerFile) {
+		this.maxLinesPerFile = maxLinesPerFile;
+	}
+
+	@Override
+	public boolean hasNext() {
+		skipExcludedFiles();
+		return nextFileName != null;
+	}
+
+	/**
+	 * 제외된 파일은 header 만 찾으면서 건너뛴다.
+	 */
+	private void skipExcludedFiles() {
+		while (nextFileName != null && nextFileName != checkedFileName) {
+			if (isTargetPath(removeNewFilePrefix(nextFileName))) {
+				checkedFileName = nextFileName;
+				return;
+			}
+
+			nextFileName = null;
+			skipToNextHeader();
+		}
+		if (nextFileName == null) close();
+	}
+
+	/**
+	 * {@link FileDiffReader} 와 같은 형태의 {@link RawDiff}. 모든 라인을 decode 하므로 {@link #parse()} 보다 느리다.
+	 */
+	@Override
+	public RawDiff next() {
+		if (!hasNext()) return RawDiff.END_OF_DIFF;
+
+		RawDiff.RawDiffBuilder builder = RawDiff.builder().fileName(nextFileName);
+		List<String> lines = new ArrayList<>();
+		boolean binary = false;
+		String fileName = nextFileName;
+		nextFileName = null;
+		while (readLine()) {
+			if (startsWith(DIFF_HEADER)) {
+				nextFileName = fileNameOfHeader();
+				break;
+			}
+			if (exceedsMaxLines(lines.size(), fileName)) {
+				builder.truncated(true);
+				skipToNextHeader();
+				break;
+			}
+			String line = decode(lineStart, lineEnd);
+			binary |= line.contains("Binary files");
+			lines.add(line);
+		}
+		if (nextFileName == null) close();
+
+		return builder.type(binary ? FileType.BINARY : FileType.SOURCE).rawDiff(lines).build();
+	}
+
+	@Override
+	public Stream<Diff> parse() {
+		Iterator<Diff> it = new Iterator<Diff>() {
+			@Override
+			public boolean hasNext() {
+				return MappedFileDiffReader.this.hasNext();
+			}
+
+			@Override
+			public Diff next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				return readDiff();
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * byte 를 읽으면서 바로 {@link Diff} 를 만들기 때문에 worker 에 나눌 변환 단계가 없다.
+	 */
+	@Override
+	public Stream<Diff> parse(int parallelism) {
+		return parse();
+	}
+
+	private Diff readDiff() {
+		String fileName = removeNewFilePrefix(nextFileName);
+		log.info("parse diff / {}", fileName);
+
+		LineNumberBuffer addedLines = new LineNumberBuffer();
+		boolean hunkFound = false;
+		boolean binary = false;
+		boolean truncated = false;
+		int lineNumber = 0;
+		int lineCount = 0;
+
+		nextFileName = null;
+		while (readLine()) {
+			if (startsWith(DIFF_HEADER)) {
+				nextFileName = fileNameOfHeader();
+				break;
+			}
+			if (exceedsMaxLines(lineCount++, fileName)) {
+				truncated = true;
+				skipToNextHeader();
+				break;
+			}
+
+			if (startsWith(HUNK_HEADER)) {
+				lineNumber = newFileStartLine();
+				hunkFound = true;
+			} else if (!hunkFound) { // 첫 hunk 이전의 header 영역
+				binary |= startsWith(BINARY_FILES) || startsWith(BINARY_PATCH);
+			} else {
+				// 공백까지 지워진 빈 라인은 변경 없는 라인으로 본다.
+				byte first = lineEnd > lineStart ? byteAt(lineStart) : (byte) ' ';
+				if (first == '+') {
+					addedLines.add(lineNumber++);
+				} else if (first != '-' && first != '\\') { // 삭제된 라인과 "\ No newline at end of file" 은 번호를 차지하지 않는다.
+					lineNumber++;
+				}
+			}
+		}
+		if (nextFileName == null) close();
+
+		if (binary || !hunkFound) {
+			log.debug("no hunk in {}, binary {}", fileName, binary);
+		}
+		return Diff.builder()
+				.fileName(fileName)
+				.diffSectionList(Collections.emptyList())
+				.addedLines(binary || truncated ? new int[0] : addedLines.toSortedArray())
+				.build();
+	}
+
+	/**
+	 * 라인 수 제한을 넘은 파일은 일부만 읽게 되므로 {@link DiffMapper} 처럼 검사하지 않는다.
+	 */
+	private boolean exceedsMaxLines(int readLines, String fileName) {
+		if (maxLinesPerFile <= 0 || readLines < maxLinesPerFile) return false;
+		log.warn("diff of {} is longer than {} lines, skip the rest", fileName, maxLinesPerFile);
+		return true;
+	}
+
+	private void skipToNextHeader() {
+		while (readLine()) {
+			if (startsWith(DIFF_HEADER)) {
+				nextFileName = fileNameOfHeader();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * "@@ -a,b +c,d @@" 에서 c 를 읽는다.
+	 */
+	private int newFileStartLine() {
+		long i = lineStart + HUNK_HEADER.length;
+		while (i < lineEnd && byteAt(i) != '+') i++;
+
+		int start = 0;
+		int digits = 0;
+		for (i++; i < lineEnd; i++, digits++) {
+			byte b = byteAt(i);
+			if (b < '0' || b > '9') break;
+			start = start * 10 + (b - '0');
+		}
+
+		if (digits == 0) {
+			String header = decode(lineStart, lineEnd);
+			log.error("not expect pattern {}", header);
+			throw new ParseException("unexpected hunk header " + header);
+		}
+		return start;
+	}
+
+	private String fileNameOfHeader() {
+		long i = lineEnd;
+		while (i > lineStart && byteAt(i - 1) != ' ') i--;
+		return decode(i, lineEnd);
+	}
+
+	private String removeNewFilePrefix(String path) {
+		return path.startsWith("b/") ? path.substring(2) : path;
+	}
+
+	/**
+	 * 다음 라인으로 이동한다. 라인 전체가 현재 window 안에 들어오도록 필요하면 다시 map 한다.
+	 *
+	 * @return 읽을 라인이 남아 있었는지 여부
+	 */
+	private boolean readLine() {
+		if (nextLine >= size) return false;
+
+		lineStart = nextLine;
+		long i = lineStart;
+		while (true) {
+			if (i >= windowEnd) {
+				if (windowEnd >= size) break; // 마지막 라인
+				remap(lineStart, i);
+			}
+			if (window.get((int) (i - windowStart)) == '\n') break;
+			i++;
+		}
+
+		nextLine = i + 1;
+		lineEnd = (i > lineStart && byteAt(i - 1) == '\r') ? i - 1 : i;
+		return true;
+	}
+
+	private void remap(long from, long scanned) {
+		if (from == windowStart && window != null) {
+			// 한 라인이 window 보다 길다.
+			windowSize = (int) Math.min(Integer.MAX_VALUE, (long) windowSize * 2);
+			log.debug("grow diff window to {} bytes at {}", windowSize, scanned);
+		}
+		try {
+			windowStart = from;
+			windowEnd = Math.min(size, from + windowSize);
+			window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+
+	private byte byteAt(long position) {
+		return window.get((int) (position - windowStart));
+	}
+
+	private boolean startsWith(byte[] prefix) {
+		if (lineEnd - lineStart < prefix.length) return false;
+		int offset = (int) (lineStart - windowStart);
+		for (int i = 0; i < prefix.length; i++) {
+			if (window.get(offset + i) != prefix[i]) return false;
+		}
+		return true;
+	}
+
+	private boolean contains(byte[] pattern) {
+		int offset = (int) (lineStart - windowStart);
+		int length = (int) (lineEnd - lineStart);
+		for (int from = 0; from <= length - pattern.length; from++) {
+			int i = 0;
+			while (i < pattern.length && window.get(offset + from + i) == pattern[i]) i++;
+			if (i == pattern.length) return true;
+		}
+		return false;
+	}
+
+	private String decode(long from, long to) {
+		byte[] bytes = new byte[(int) (to - from)];
+		int offset = (int) (from - windowStart);
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = window.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static byte[] ascii(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	@Override
+	public void close() {
+		nextFileName = null;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+}
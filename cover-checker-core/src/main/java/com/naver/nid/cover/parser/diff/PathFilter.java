@@ -0,0 +1,91 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.parser.diff;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * <p>glob 형식의 include / exclude 규칙으로 diff 파일 경로를 거른다. 규칙은 생성할 때 한번만 compile 한다.</p>
+ *
+ * <p>A path passes when it matches any include rule (or there is none) and no exclude rule.
+ * A rule starting with {@code **}{@code /} also matches paths at the repository root.</p>
+ *
+ * Thread safe
+ */
+public final class PathFilter implements Predicate<String> {
+	public static final PathFilter ALL = new PathFilter(Collections.emptyList(), Collections.emptyList());
+
+	private final List<PathMatcher> includes;
+	private final List<PathMatcher> excludes;
+
+	private PathFilter(List<PathMatcher> includes, List<PathMatcher> excludes) {
+		this.includes = includes;
+		this.excludes = excludes;
+	}
+
+	/**
+	 * @param includes 포함할 경로의 glob, 비어있으면 모든 경로를 포함한다.
+	 * @param excludes 제외할 경로의 glob
+	 */
+	public static PathFilter of(Collection<String> includes, Collection<String> excludes) {
+		if (isEmpty(includes) && isEmpty(excludes)) return ALL;
+		return new PathFilter(compile(includes), compile(excludes));
+	}
+
+	@Override
+	public boolean test(String path) {
+		Path p = Paths.get(path);
+		if (!includes.isEmpty() && !matchAny(includes, p)) return false;
+		return excludes.isEmpty() || !matchAny(excludes, p);
+	}
+
+	private static boolean matchAny(List<PathMatcher> matchers, Path path) {
+		for (PathMatcher matcher : matchers) {
+			if (matcher.matches(path)) return true;
+		}
+		return false;
+	}
+
+	private static List<PathMatcher> compile(Collection<String> globs) {
+		if (isEmpty(globs)) return Collections.emptyList();
+
+		FileSystem fs = FileSystems.getDefault();
+		List<PathMatcher> matchers = new ArrayList<>(globs.size());
+		for (String glob : globs) {
+			String rule = glob.trim();
+			if (rule.isEmpty()) continue;
+
+			matchers.add(fs.getPathMatcher("glob:" + rule));
+			if (rule.startsWith("**/")) { // "**/" 는 디렉토리가 하나 이상 있어야 일치하므로 최상위 경로용 규칙을 추가한다.
+				matchers.add(fs.getPathMatcher("glob:" + rule.substring(3)));
+			}
+		}
+		return matchers;
+	}
+
+	private static boolean isEmpty(Collection<String> globs) {
+		return globs == null || globs.isEmpty();
+	}
+}
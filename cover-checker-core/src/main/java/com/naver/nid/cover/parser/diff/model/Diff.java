@@ -31,4 +31,10 @@ import java.util.List;
 public class Diff {
 	private String fileName;
 	private List<DiffSection> diffSectionList;
+
+	/**
+	 * 추가된 라인 번호만 남기는 경우 오름차순으로 정렬된 라인 번호, 이때 {@link #diffSectionList} 는 비어있다.
+	 * 일반적인 경우 null
+	 */
+	private int[] addedLines;
 }
@@ -18,6 +18,7 @@ package com.naver.nid.cover.parser.diff.model;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Iterator;
 import java.util.List;
 
 @Data
@@ -29,6 +30,16 @@ public class RawDiff {
 	private FileType type;
 	private List<String> rawDiff;
 
+	/**
+	 * 라인을 모으지 않고 읽는 경우 {@link #rawDiff} 이후의 라인, 한번만 순회할 수 있다.
+	 */
+	private Iterator<String> remainingLines;
+
+	/**
+	 * 라인 수 제한을 넘어 뒷부분을 읽지 않았는지 여부
+	 */
+	private boolean truncated;
+
 	public static boolean isFinish(RawDiff rd) {
 		if (rd == null) return true;
 		return rd == END_OF_DIFF;
@@ -42,4 +53,24 @@ public class RawDiff {
 	public String getRawDiffLine(int i) {
 		return rawDiff.get(i);
 	}
+
+	/**
+	 * @return {@link #rawDiff} 와 {@link #remainingLines} 를 이어서 순회하는 iterator
+	 */
+	public Iterator<String> lineIterator() {
+		Iterator<String> head = rawDiff.iterator();
+		if (remainingLines == null) return head;
+
+		return new Iterator<String>() {
+			@Override
+			public boolean hasNext() {
+				return head.hasNext() || remainingLines.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return head.hasNext() ? head.next() : remainingLines.next();
+			}
+		};
+	}
 }
@@ -0,0 +1,43 @@
+package com.naver.nid.cover.checker;
+
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CoverageRangesTest {
+
+	@Test
+	public void encode() {
+		int[] lines = {1, 2, 3, 5, 8, 9};
+		byte[] status = {1, 1, 2, 2, 2, 3, 0, 0};
+		CoverageRanges ranges = CoverageRanges.encode(lines, status, 6);
+
+		assertEquals(3, ranges.size());
+		assertEquals(1, ranges.getStart(0));
+		assertEquals(2, ranges.getEnd(0));
+		assertSame(CoverageStatus.COVERED, ranges.getStatus(0));
+		assertEquals(3, ranges.getStart(1));
+		assertEquals(8, ranges.getEnd(1));
+		assertSame(CoverageStatus.UNCOVERED, ranges.getStatus(1));
+		assertEquals(9, ranges.getStart(2));
+		assertEquals(9, ranges.getEnd(2));
+		assertSame(CoverageStatus.CONDITION, ranges.getStatus(2));
+	}
+
+	@Test
+	public void mapConversion() {
+		Map<Range, CoverageStatus> map = new LinkedHashMap<>();
+		map.put(new Range(1, 2), CoverageStatus.COVERED);
+		map.put(new Range(3, 3), CoverageStatus.UNCOVERED);
+
+		CoverageRanges ranges = CoverageRanges.of(map);
+		assertEquals(CoverageRanges.encode(new int[]{1, 2, 3}, new byte[]{1, 1, 2}, 3), ranges);
+		assertEquals(map, ranges.toMap());
+		assertSame(CoverageRanges.EMPTY, CoverageRanges.encode(new int[0], new byte[0], 0));
+	}
+}
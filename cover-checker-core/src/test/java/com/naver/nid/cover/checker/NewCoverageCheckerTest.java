@@ -4,6 +4,7 @@ import com.naver.nid.cover.checker.model.NewCoverageCheckReport;
 import com.naver.nid.cover.checker.model.NewCoveredFile;
 import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
 import com.naver.nid.cover.parser.coverage.model.LineCoverageReport;
 import com.naver.nid.cover.parser.diff.model.Diff;
 import com.naver.nid.cover.parser.diff.model.DiffSection;
@@ -11,11 +12,13 @@ import com.naver.nid.cover.parser.diff.model.Line;
 import com.naver.nid.cover.parser.diff.model.ModifyType;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -44,7 +47,7 @@ class NewCoverageCheckerTest {
         FileCoverageReport fileCoverageReport = new FileCoverageReport();
         fileCoverageReport.setType("java");
         fileCoverageReport.setFileName("test.java");
-        fileCoverageReport.setLineCoverageReportList(Arrays.asList(lineCoverageReport, lineCoverageReport2));
+        fileCoverageReport.setLineCoverage(LineCoverage.of(Arrays.asList(lineCoverageReport, lineCoverageReport2)));
         List<FileCoverageReport> coverage = Collections.singletonList(fileCoverageReport);
 
         Map<Range, CoverageStatus> addedLine = new LinkedHashMap<>();
@@ -93,7 +96,7 @@ class NewCoverageCheckerTest {
         FileCoverageReport fileCoverageReport = new FileCoverageReport();
         fileCoverageReport.setType("java");
         fileCoverageReport.setFileName("test.kt");
-        fileCoverageReport.setLineCoverageReportList(Arrays.asList(lineCoverageReport, lineCoverageReport2));
+        fileCoverageReport.setLineCoverage(LineCoverage.of(Arrays.asList(lineCoverageReport, lineCoverageReport2)));
         List<FileCoverageReport> coverage = Collections.singletonList(fileCoverageReport);
 
         Map<Range, CoverageStatus> addedLine = new LinkedHashMap<>();
@@ -143,12 +146,12 @@ class NewCoverageCheckerTest {
         FileCoverageReport fileCoverageReport = new FileCoverageReport();
         fileCoverageReport.setType("kt");
         fileCoverageReport.setFileName("Module1/src/main/kotlin/test.kt");
-        fileCoverageReport.setLineCoverageReportList(Arrays.asList(lineCoverageReport, lineCoverageReport2));
+        fileCoverageReport.setLineCoverage(LineCoverage.of(Arrays.asList(lineCoverageReport, lineCoverageReport2)));
 
         FileCoverageReport fileCoverageReport2 = new FileCoverageReport();
         fileCoverageReport2.setType("kt");
         fileCoverageReport2.setFileName("Module2/src/main/kotlin/test.kt");
-        fileCoverageReport2.setLineCoverageReportList(Arrays.asList(lineCoverageReport, lineCoverageReport2));
+        fileCoverageReport2.setLineCoverage(LineCoverage.of(Arrays.asList(lineCoverageReport, lineCoverageReport2)));
 
         List<FileCoverageReport> coverage = Arrays.asList(fileCoverageReport, fileCoverageReport2);
 
@@ -180,4 +183,145 @@ class NewCoverageCheckerTest {
         NewCoverageCheckReport check = checker.check(coverage, diffList, 60, 0, "");
         assertEquals(newCoverageCheckReport, check);
     }
+
+    @Test
+    public void streamingCoverCheckTest() {
+        NewCoverageChecker checker = new NewCoverageChecker();
+
+        List<Line> lines = Arrays.asList(
+                Line.builder().lineNumber(1).type(ModifyType.ADD).build()
+                , Line.builder().lineNumber(2).type(ModifyType.ADD).build());
+
+        List<DiffSection> diffSectionList = Collections.singletonList(DiffSection.builder().lineList(lines).build());
+        List<Diff> diffList = Arrays.asList(
+                Diff.builder().fileName("Module1/src/main/java/com/naver/Test.java").diffSectionList(diffSectionList).build(),
+                Diff.builder().fileName("Module2/src/main/java/com/naver/Test.java").diffSectionList(diffSectionList).build(),
+                Diff.builder().fileName("src/main/java/com/naver/Other.java").diffSectionList(diffSectionList).build(),
+                Diff.builder().fileName("src/test/java/com/naver/TestTest.java").diffSectionList(diffSectionList).build());
+
+        LineCoverage lineCoverage = LineCoverage.builder()
+                .add(1, CoverageStatus.COVERED)
+                .add(2, CoverageStatus.UNCOVERED)
+                .build();
+        List<FileCoverageReport> coverage = Arrays.asList(
+                new FileCoverageReport("com/naver/Test.java", "java", lineCoverage),
+                new FileCoverageReport("com/naver/Other.java", "java", lineCoverage));
+
+        Map<Range, CoverageStatus> addedLine = new LinkedHashMap<>();
+        addedLine.put(new Range(1, 1), CoverageStatus.COVERED);
+        addedLine.put(new Range(2, 2), CoverageStatus.UNCOVERED);
+
+        NewCoveredFile testFile = NewCoveredFile.builder()
+                .name("[Test.java]")
+                .url("com.naver/Test.java.html")
+                .addedLine(addedLine)
+                .addedLineCount(2)
+                .addedCoverLine(1)
+                .threshold(30)
+                .build();
+        NewCoveredFile otherFile = NewCoveredFile.builder()
+                .name("[Other.java]")
+                .url("com.naver/Other.java.html")
+                .addedLine(addedLine)
+                .addedLineCount(2)
+                .addedCoverLine(1)
+                .threshold(30)
+                .build();
+
+        // 같은 coverage 파일로 끝나는 diff 파일이 여러 개면 두 방식 모두 제외한다. 이미 전달된 결과는 최종 결과에서만 빠진다.
+        List<NewCoveredFile> emitted = new ArrayList<>();
+        NewCoverageCheckReport check = checker.check(coverage, diffList.stream(), 60, 30, "", emitted::add);
+
+        assertEquals(Arrays.asList(testFile, otherFile), emitted);
+        assertEquals(NewCoverageCheckReport.builder()
+                .threshold(60)
+                .totalNewLine(2)
+                .coveredNewLine(1)
+                .coveredFilesInfo(Collections.singletonList(otherFile))
+                .build(), check);
+        assertEquals(checker.check(coverage, diffList, 60, 30, ""), check);
+    }
+
+    @Test
+    public void streamingExactMatchTest() {
+        NewCoverageChecker checker = new NewCoverageChecker();
+
+        List<DiffSection> oneLine = Collections.singletonList(DiffSection.builder()
+                .lineList(Collections.singletonList(Line.builder().lineNumber(1).type(ModifyType.ADD).build())).build());
+        List<DiffSection> twoLines = Collections.singletonList(DiffSection.builder()
+                .lineList(Arrays.asList(Line.builder().lineNumber(1).type(ModifyType.ADD).build()
+                        , Line.builder().lineNumber(2).type(ModifyType.ADD).build())).build());
+        // 경로가 같은 diff 파일이 나중에 나와도 그 파일을 사용한다.
+        List<Diff> diffList = Arrays.asList(
+                Diff.builder().fileName("Module1/com/naver/Test.java").diffSectionList(oneLine).build(),
+                Diff.builder().fileName("com/naver/Test.java").diffSectionList(twoLines).build(),
+                Diff.builder().fileName("Module2/com/naver/Test.java").diffSectionList(oneLine).build());
+
+        List<FileCoverageReport> coverage = Collections.singletonList(new FileCoverageReport("com/naver/Test.java", "java",
+                LineCoverage.builder().add(1, CoverageStatus.COVERED).add(2, CoverageStatus.COVERED).build()));
+
+        List<NewCoveredFile> emitted = new ArrayList<>();
+        NewCoverageCheckReport streaming = checker.check(coverage, diffList.stream(), 60, 30, "", emitted::add);
+
+        assertEquals(2, emitted.size());
+        assertEquals(2, streaming.getTotalNewLine());
+        assertEquals(2, streaming.getCoveredNewLine());
+        assertEquals(Collections.singletonList(emitted.get(1)), streaming.getCoveredFilesInfo());
+        assertEquals(checker.check(coverage, diffList, 60, 30, ""), streaming);
+    }
+
+    @Test
+    public void parallelCoverCheckTest() {
+        List<Diff> diffList = new ArrayList<>();
+        List<FileCoverageReport> coverage = new ArrayList<>();
+        for (int f = 0; f < 200; f++) {
+            List<Line> lines = new ArrayList<>();
+            LineCoverage.Builder lineCoverage = LineCoverage.builder();
+            for (int l = 1; l <= 20; l++) {
+                lines.add(Line.builder().lineNumber(l).type(ModifyType.ADD).build());
+                lineCoverage.add(l, (l + f) % 3 == 0 ? CoverageStatus.UNCOVERED : CoverageStatus.values()[(l * f) % 4]);
+            }
+
+            String fileName = "module" + (f % 3) + "/src/main/java/com/naver/File" + f + ".java";
+            diffList.add(Diff.builder().fileName(fileName)
+                    .diffSectionList(Collections.singletonList(DiffSection.builder().lineList(lines).build())).build());
+            coverage.add(new FileCoverageReport("com/naver/File" + f + ".java", "java", lineCoverage.build()));
+        }
+
+        NewCoverageCheckReport sequential = new NewCoverageChecker().check(coverage, diffList, 60, 30, "");
+        NewCoverageCheckReport parallel = new NewCoverageChecker(4).check(coverage, diffList, 60, 30, "");
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void addedLinesOnlyCoverCheckTest() {
+        List<Diff> diffList = new ArrayList<>();
+        List<Diff> addedLinesOnly = new ArrayList<>();
+        List<FileCoverageReport> coverage = new ArrayList<>();
+        for (int f = 0; f < 20; f++) {
+            List<Line> lines = new ArrayList<>();
+            int[] addedLines = new int[10];
+            LineCoverage.Builder lineCoverage = LineCoverage.builder();
+            for (int l = 1; l <= 10; l++) {
+                lines.add(Line.builder().lineNumber(l * 2).type(ModifyType.ADD).build());
+                lines.add(Line.builder().lineNumber(l * 2 + 1).type(ModifyType.NOTHING).build());
+                addedLines[l - 1] = l * 2;
+                lineCoverage.add(l * 2, CoverageStatus.values()[(l + f) % 4]);
+            }
+
+            String fileName = "src/main/java/com/naver/File" + f + ".java";
+            diffList.add(Diff.builder().fileName(fileName)
+                    .diffSectionList(Collections.singletonList(DiffSection.builder().lineList(lines).build())).build());
+            addedLinesOnly.add(Diff.builder().fileName(fileName)
+                    .diffSectionList(Collections.emptyList()).addedLines(addedLines).build());
+            coverage.add(new FileCoverageReport("com/naver/File" + f + ".java", "java", lineCoverage.build()));
+        }
+
+        NewCoverageChecker checker = new NewCoverageChecker();
+        NewCoverageCheckReport expected = checker.check(coverage, diffList, 60, 30, "");
+        assertEquals(expected, checker.check(coverage, addedLinesOnly, 60, 30, ""));
+        assertEquals(expected.getTotalNewLine(),
+                checker.check(coverage, addedLinesOnly.stream(), 60, 30, "", f -> {}).getTotalNewLine());
+    }
 }
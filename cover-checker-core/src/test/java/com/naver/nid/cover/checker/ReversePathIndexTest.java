@@ -0,0 +1,58 @@
+package com.naver.nid.cover.checker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReversePathIndexTest {
+
+	@Test
+	public void findBySuffix() {
+		ReversePathIndex<String> index = new ReversePathIndex<>();
+		index.put("module1/src/main/java/com/naver/Test.java", "m1");
+		index.put("module2/src/main/java/com/naver/Other.java", "m2");
+
+		assertEquals(2, index.size());
+		assertEquals(Collections.singletonList("m1"), index.findBySuffix("com/naver/Test.java"));
+		assertEquals(Collections.singletonList("m2"), index.findBySuffix("Other.java"));
+		assertTrue(index.findBySuffix("naver/Unknown.java").isEmpty());
+	}
+
+	@Test
+	public void segmentAlignedMatch() {
+		ReversePathIndex<String> index = new ReversePathIndex<>();
+		index.put("src/main/java/com/naver/ATest.java", "a");
+
+		assertTrue(index.findBySuffix("Test.java").isEmpty());
+		assertTrue(index.findBySuffix("aver/ATest.java").isEmpty());
+	}
+
+	@Test
+	public void ambiguousSuffix() {
+		ReversePathIndex<String> index = new ReversePathIndex<>();
+		index.put("module1/src/main/kotlin/test.kt", "m1");
+		index.put("module2/src/main/kotlin/test.kt", "m2");
+		index.put("src/main/kotlin/test.kt", "root");
+
+		assertEquals(new HashSet<>(Arrays.asList("m1", "m2", "root")), new HashSet<>(index.findBySuffix("test.kt")));
+		assertEquals("root", index.findBySuffix("src/main/kotlin/test.kt").get(0));
+		assertEquals(Collections.singletonList("m2"), index.findBySuffix("module2/src/main/kotlin/test.kt"));
+	}
+
+	@Test
+	public void findLongestSuffixOf() {
+		ReversePathIndex<String> index = new ReversePathIndex<>();
+		index.put("Test.java", "short");
+		index.put("com/naver/Test.java", "long");
+
+		assertEquals("long", index.findLongestSuffixOf("module1/src/main/java/com/naver/Test.java"));
+		assertEquals("short", index.findLongestSuffixOf("module1/src/main/java/com/line/Test.java"));
+		assertNull(index.findLongestSuffixOf("module1/src/main/java/com/naver/ATest.java"));
+	}
+}
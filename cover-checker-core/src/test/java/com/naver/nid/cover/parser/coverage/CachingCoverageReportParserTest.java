@@ -0,0 +1,182 @@
+package com.naver.nid.cover.parser.coverage;
+
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingCoverageReportParserTest {
+
+	private final AtomicInteger parseCount = new AtomicInteger();
+	private final AtomicInteger filtered = new AtomicInteger();
+
+	/**
+	 * report 내용의 각 라인을 커버된 파일 이름으로 본다.
+	 */
+	private final CoverageReportParser delegate = reportFile -> {
+		parseCount.incrementAndGet();
+		try {
+			return Files.readAllLines(reportFile.toPath()).stream()
+					.map(name -> new FileCoverageReport(name, "java", LineCoverage.builder()
+							.add(3, CoverageStatus.COVERED)
+							.add(4, CoverageStatus.UNCOVERED)
+							.add(9, CoverageStatus.CONDITION)
+							.build()))
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	};
+
+	@Test
+	public void hitSameReport(@TempDir Path dir) throws IOException {
+		File report = write(dir.resolve("jacoco.xml"), "a/A.java\nb/B.java\n");
+		CoverageReportParser parser = new CachingCoverageReportParser(delegate, dir.resolve("cache"), 1024 * 1024);
+
+		List<FileCoverageReport> parsed = parser.parse(report);
+		List<FileCoverageReport> cached = new CachingCoverageReportParser(delegate, dir.resolve("cache"), 1024 * 1024).parse(report);
+
+		assertEquals(1, parseCount.get());
+		assertEquals(2, cached.size());
+		assertEquals(parsed, cached);
+		assertEquals(Collections.singletonList("b/B.java"), parser.parse(report, f -> f.startsWith("b/")).stream()
+				.map(FileCoverageReport::getFileName).collect(Collectors.toList()));
+		assertEquals(1, parseCount.get());
+	}
+
+	@Test
+	public void missChangedReport(@TempDir Path dir) throws IOException {
+		File report = write(dir.resolve("jacoco.xml"), "a/A.java\n");
+		CoverageReportParser parser = new CachingCoverageReportParser(delegate, dir.resolve("cache"), 1024 * 1024);
+		parser.parse(report);
+
+		// 크기와 수정 시간이 같아도 내용이 바뀌면 다시 파싱한다.
+		FileTime modified = Files.getLastModifiedTime(report.toPath());
+		write(report.toPath(), "a/C.java\n");
+		Files.setLastModifiedTime(report.toPath(), modified);
+
+		assertEquals("a/C.java", parser.parse(report).get(0).getFileName());
+		assertEquals(2, parseCount.get());
+		assertEquals("a/C.java", parser.parse(report).get(0).getFileName());
+		assertEquals(2, parseCount.get());
+	}
+
+	@Test
+	public void brokenEntry(@TempDir Path dir) throws IOException {
+		File report = write(dir.resolve("jacoco.xml"), "a/A.java\n");
+		Path cache = dir.resolve("cache");
+		CoverageReportParser parser = new CachingCoverageReportParser(delegate, cache, 1024 * 1024);
+		List<FileCoverageReport> parsed = parser.parse(report);
+
+		try (Stream<Path> entries = Files.list(cache)) {
+			for (Path entry : (Iterable<Path>) entries::iterator) {
+				Files.write(entry, Arrays.copyOf(Files.readAllBytes(entry), 20));
+			}
+		}
+
+		assertEquals(parsed, parser.parse(report));
+		assertEquals(2, parseCount.get());
+	}
+
+	@Test
+	public void noCacheIdentity(@TempDir Path dir) throws IOException {
+		File report = write(dir.resolve("jacoco.exec"), "a/A.java\nb/B.java\n");
+		CoverageReportParser uncacheable = new CoverageReportParser() {
+			@Override
+			public List<FileCoverageReport> parse(File reportFile) {
+				return delegate.parse(reportFile);
+			}
+
+			@Override
+			public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
+				filtered.incrementAndGet();
+				return delegate.parse(reportFile, fileFilter);
+			}
+
+			@Override
+			public String getCacheIdentity() {
+				return null;
+			}
+		};
+
+		CoverageReportParser parser = new CachingCoverageReportParser(uncacheable, dir.resolve("cache"), 1024 * 1024);
+		assertEquals(1, parser.parse(report, f -> f.startsWith("a/")).size());
+		assertEquals(1, parser.parse(report, f -> f.startsWith("a/")).size());
+
+		// filter 를 그대로 넘기고 cache 를 만들지 않는다.
+		assertEquals(2, filtered.get());
+		assertEquals(2, parseCount.get());
+		assertFalse(Files.exists(dir.resolve("cache")));
+	}
+
+	@Test
+	public void xmlParserIdentityByHandler() {
+		CoverageReportParser first = new XmlCoverageReportParser(TestHandler::new);
+		CoverageReportParser second = new XmlCoverageReportParser(() -> new TestHandler() {
+		});
+		assertNotEquals(first.getCacheIdentity(), second.getCacheIdentity());
+	}
+
+	@Test
+	public void evictLeastRecentlyUsed(@TempDir Path dir) throws IOException {
+		Path cache = dir.resolve("cache");
+		File first = write(dir.resolve("report1.xml"), "a/A.java\n");
+		File second = write(dir.resolve("report2.xml"), "a/A.java\n");
+		File third = write(dir.resolve("report3.xml"), "a/A.java\n");
+
+		new CachingCoverageReportParser(delegate, cache, Long.MAX_VALUE).parse(first);
+		long entrySize;
+		try (Stream<Path> entries = Files.list(cache)) {
+			entrySize = Files.size(entries.findFirst().orElseThrow(AssertionError::new));
+		}
+
+		CoverageReportParser parser = new CachingCoverageReportParser(delegate, cache, entrySize * 2);
+		parser.parse(second);
+		age(cache, 10_000);
+		parser.parse(first); // hit, first 가 가장 최근에 사용된 entry 가 된다.
+		parser.parse(third); // second 를 지운다.
+		assertEquals(3, parseCount.get());
+
+		parser.parse(first);
+		parser.parse(third);
+		assertEquals(3, parseCount.get());
+		parser.parse(second);
+		assertEquals(4, parseCount.get());
+	}
+
+	private static void age(Path cache, long millis) throws IOException {
+		try (Stream<Path> entries = Files.list(cache)) {
+			for (Path entry : (Iterable<Path>) entries::iterator) {
+				Files.setLastModifiedTime(entry, FileTime.fromMillis(Files.getLastModifiedTime(entry).toMillis() - millis));
+			}
+		}
+	}
+
+	private static File write(Path path, String content) throws IOException {
+		return Files.write(path, content.getBytes(StandardCharsets.UTF_8)).toFile();
+	}
+
+	private static class TestHandler extends CoverageReportXmlHandler {
+		@Override
+		public List<FileCoverageReport> getReports() {
+			return Collections.emptyList();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.naver.nid.cover.parser.coverage.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CoverageAccumulatorTest {
+
+	@Test
+	public void mergeDuplicateFiles() {
+		FileCoverageReport module1 = new FileCoverageReport("A.java", "java", LineCoverage.builder()
+				.add(1, CoverageStatus.UNCOVERED)
+				.add(2, CoverageStatus.COVERED)
+				.build());
+		FileCoverageReport module2 = new FileCoverageReport("A.java", "java", LineCoverage.builder()
+				.add(1, CoverageStatus.COVERED)
+				.add(3, CoverageStatus.CONDITION)
+				.build());
+		FileCoverageReport other = new FileCoverageReport("B.java", "java", LineCoverage.EMPTY);
+
+		CoverageAccumulator coverage = CoverageAccumulator.of(Collections.singletonList(module1))
+				.add(module2)
+				.add(other);
+
+		assertEquals(2, coverage.size());
+		LineCoverage merged = coverage.getCoverage().get("A.java");
+		assertSame(CoverageStatus.UNCOVERED, merged.getStatus(1));
+		assertSame(CoverageStatus.COVERED, merged.getStatus(2));
+		assertSame(CoverageStatus.CONDITION, merged.getStatus(3));
+		assertSame(LineCoverage.EMPTY, coverage.getCoverage().get("B.java"));
+	}
+
+	@Test
+	public void concurrentReports() {
+		// 모든 report 가 같은 파일들을 가지고 있고 report 마다 다른 라인을 덮는다.
+		int reportCount = 64;
+		CoverageAccumulator coverage = new CoverageAccumulator();
+		CompletableFuture<?>[] reports = IntStream.range(0, reportCount)
+				.mapToObj(r -> CompletableFuture.runAsync(() -> coverage.addAll(report(r))))
+				.toArray(CompletableFuture[]::new);
+		CompletableFuture.allOf(reports).join();
+
+		assertEquals(10, coverage.size());
+		for (LineCoverage lineCoverage : coverage.getCoverage().values()) {
+			assertEquals(1, lineCoverage.getFirstLine());
+			assertEquals(reportCount, lineCoverage.getLastLine());
+			IntStream.rangeClosed(1, reportCount)
+					.forEach(line -> assertSame(CoverageStatus.COVERED, lineCoverage.getStatus(line)));
+		}
+	}
+
+	private static List<FileCoverageReport> report(int r) {
+		List<FileCoverageReport> files = new ArrayList<>();
+		for (int f = 0; f < 10; f++) {
+			files.add(new FileCoverageReport("F" + f + ".java", "java", LineCoverage.builder()
+					.add(r + 1, CoverageStatus.COVERED)
+					.build()));
+		}
+		return files;
+	}
+}
@@ -0,0 +1,84 @@
+package com.naver.nid.cover.parser.coverage.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineCoverageTest {
+
+	@Test
+	public void packedStatus() {
+		LineCoverage coverage = LineCoverage.builder()
+				.add(120, CoverageStatus.UNCOVERED)
+				.add(100, CoverageStatus.COVERED)
+				.add(101, CoverageStatus.CONDITION)
+				.build();
+
+		assertEquals(100, coverage.getFirstLine());
+		assertEquals(120, coverage.getLastLine());
+		assertSame(CoverageStatus.COVERED, coverage.getStatus(100));
+		assertSame(CoverageStatus.CONDITION, coverage.getStatus(101));
+		assertSame(CoverageStatus.NOTHING, coverage.getStatus(110));
+		assertSame(CoverageStatus.UNCOVERED, coverage.getStatus(120));
+		assertSame(CoverageStatus.NOTHING, coverage.getStatus(1));
+		assertSame(CoverageStatus.NOTHING, coverage.getStatus(121));
+		assertEquals(3, coverage.toLineCoverageReportList().size());
+	}
+
+	@Test
+	public void mergeByOrder() {
+		LineCoverage module1 = LineCoverage.builder()
+				.add(1, CoverageStatus.COVERED)
+				.add(2, CoverageStatus.UNCOVERED)
+				.build();
+		LineCoverage module2 = LineCoverage.builder()
+				.add(1, CoverageStatus.UNCOVERED)
+				.add(2, CoverageStatus.CONDITION)
+				.add(3, CoverageStatus.COVERED)
+				.build();
+
+		LineCoverage merged = module1.merge(module2);
+		assertSame(CoverageStatus.UNCOVERED, merged.getStatus(1));
+		assertSame(CoverageStatus.CONDITION, merged.getStatus(2));
+		assertSame(CoverageStatus.COVERED, merged.getStatus(3));
+		assertEquals(merged, module2.merge(module1));
+	}
+
+	@Test
+	public void empty() {
+		assertTrue(LineCoverage.builder().build().isEmpty());
+		assertTrue(LineCoverage.builder().add(3, CoverageStatus.NOTHING).build().isEmpty());
+		assertSame(CoverageStatus.NOTHING, LineCoverage.EMPTY.getStatus(0));
+	}
+
+	@Test
+	public void writeAndRead() throws IOException {
+		LineCoverage coverage = LineCoverage.builder()
+				.add(7, CoverageStatus.CONDITION)
+				.add(8, CoverageStatus.COVERED)
+				.add(10, CoverageStatus.UNCOVERED)
+				.add(15, CoverageStatus.COVERED)
+				.build();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			coverage.writeTo(out);
+			LineCoverage.EMPTY.writeTo(out);
+		}
+
+		// firstLine, length 와 9 라인을 묶은 3 byte
+		assertEquals(8 + 3 + 8, bytes.size());
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(coverage, LineCoverage.readFrom(in));
+			assertSame(LineCoverage.EMPTY, LineCoverage.readFrom(in));
+		}
+	}
+}
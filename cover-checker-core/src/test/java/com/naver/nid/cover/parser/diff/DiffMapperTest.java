@@ -4,9 +4,14 @@ import com.naver.nid.cover.parser.diff.model.*;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DiffMapperTest {
 
@@ -46,4 +51,103 @@ class DiffMapperTest {
 		assertEquals("test1", lineList.get(0).getBody());
 		assertEquals(ModifyType.ADD, lineList.get(0).getType());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testHunkHeader() {
+		DiffMapper.HunkHeader header = DiffMapper.HunkHeader.parse("@@ -109,4 +110,8 @@ private PushInfraInfo convert() {");
+		assertEquals(109, header.oldStart);
+		assertEquals(4, header.oldCount);
+		assertEquals(110, header.newStart);
+		assertEquals(8, header.newCount);
+
+		DiffMapper.HunkHeader single = DiffMapper.HunkHeader.parse("@@ -0,0 +1 @@");
+		assertEquals(0, single.oldCount);
+		assertEquals(1, single.newStart);
+		assertEquals(1, single.newCount);
+
+		assertNull(DiffMapper.HunkHeader.parse("@@ -1 +x @@"));
+		assertNull(DiffMapper.HunkHeader.parse("@@ -1,2 +3,4"));
+		assertNull(DiffMapper.HunkHeader.parse(" @@ -1 +1 @@"));
+	}
+
+	@Test
+	public void testHunkBodyByLineCount() {
+		String testContent = "@@ -1,2 +1,3 @@\n" +
+				" a\n" +
+				"\n" +
+				"+@@ -1 +1 @@\n" +
+				"@@ -10 +11 @@\n" +
+				"-b\n" +
+				"\\\\ No newline at end of file\n" +
+				"+c";
+
+		Diff test = mapper.apply(RawDiff.builder().fileName("test")
+				.rawDiff(Arrays.asList(testContent.split("\n"))).build());
+
+		assertEquals(2, test.getDiffSectionList().size());
+
+		List<Line> first = test.getDiffSectionList().get(0).getLineList();
+		assertEquals(3, first.size());
+		assertEquals(ModifyType.NOTHING, first.get(1).getType());
+		assertEquals(ModifyType.ADD, first.get(2).getType());
+		assertEquals("@@ -1 +1 @@", first.get(2).getBody());
+		assertEquals(3, first.get(2).getLineNumber());
+
+		List<Line> second = test.getDiffSectionList().get(1).getLineList();
+		assertEquals(2, second.size());
+		assertEquals(11, second.get(1).getLineNumber());
+		assertEquals("c", second.get(1).getBody());
+	}
+
+	@Test
+	public void testAddedLinesOnly() {
+		String testContent = "@@ -1,2 +1,3 @@\n" +
+				" a\n" +
+				"-b\n" +
+				"+c\n" +
+				"+d\n" +
+				"@@ -10 +11 @@\n" +
+				"-e\n" +
+				"+f";
+
+		Diff test = DiffMapper.getAddedLinesOnly().apply(RawDiff.builder().fileName("b/test")
+				.rawDiff(Arrays.asList(testContent.split("\n"))).build());
+
+		assertEquals("test", test.getFileName());
+		assertTrue(test.getDiffSectionList().isEmpty());
+		assertArrayEquals(new int[]{2, 3, 11}, test.getAddedLines());
+
+		Diff binary = DiffMapper.getAddedLinesOnly().apply(RawDiff.builder().fileName("b/image.png")
+				.type(FileType.BINARY).rawDiff(Collections.emptyList()).build());
+		assertEquals(0, binary.getAddedLines().length);
+	}
+
+	@Test
+	public void testZeroContextHunk() {
+		String testContent = "@@ -3,0 +4,2 @@\n" +
+				"+added1\n" +
+				"+added2\n" +
+				"@@ -10,2 +11,0 @@\n" +
+				"-deleted1\n" +
+				"-deleted2\n" +
+				"@@ -20 +19 @@\n" +
+				"-changed\n" +
+				"+changed1";
+
+		Diff test = mapper.apply(RawDiff.builder().fileName("test")
+				.rawDiff(Arrays.asList(testContent.split("\n"))).build());
+
+		assertEquals(3, test.getDiffSectionList().size());
+		assertEquals(Arrays.asList(4, 5), addedLineNumbers(test.getDiffSectionList().get(0)));
+		assertTrue(addedLineNumbers(test.getDiffSectionList().get(1)).isEmpty());
+		assertEquals(2, test.getDiffSectionList().get(1).getLineList().size());
+		assertEquals(Collections.singletonList(19), addedLineNumbers(test.getDiffSectionList().get(2)));
+	}
+
+	private static List<Integer> addedLineNumbers(DiffSection section) {
+		return section.getLineList().stream()
+				.filter(l -> l.getType() == ModifyType.ADD)
+				.map(Line::getLineNumber)
+				.collect(Collectors.toList());
+	}
+}
@@ -5,17 +5,24 @@ import com.naver.nid.cover.parser.diff.model.DiffSection;
 import com.naver.nid.cover.parser.diff.model.Line;
 import com.naver.nid.cover.parser.diff.model.ModifyType;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileDiffParseTest {
 	private static final Logger logger = LoggerFactory.getLogger(FileDiffParseTest.class);
@@ -75,4 +82,128 @@ class FileDiffParseTest {
 
 		assertEquals(114, testLineNum);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void parallelParseTest() {
+		StringBuilder s = new StringBuilder();
+		for (int f = 0; f < 100; f++) {
+			s.append("diff --git a/src/main/java/File").append(f).append(".java b/src/main/java/File").append(f).append(".java\n")
+					.append("@@ -1,1 +1,").append(f + 2).append(" @@\n")
+					.append(" class File").append(f).append(" {\n");
+			for (int l = 0; l <= f; l++) {
+				s.append("+\tint field").append(l).append(";\n");
+			}
+		}
+
+		List<Diff> sequential = new FileDiffReader(new BufferedReader(new StringReader(s.toString()))).parse()
+				.collect(Collectors.toList());
+
+		List<Diff> parallel;
+		try (Stream<Diff> parse = new FileDiffReader(new BufferedReader(new StringReader(s.toString()))).parse(4)) {
+			parallel = parse.collect(Collectors.toList());
+		}
+
+		assertEquals(100, sequential.size());
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	public void pathFilterTest() throws URISyntaxException, FileNotFoundException {
+		URL diffUrl = getClass().getClassLoader().getResource("test_diff.diff");
+		FileDiffReader reader = new FileDiffReader(new BufferedReader(new FileReader(new File(diffUrl.toURI()))));
+		reader.setPathFilter(PathFilter.of(Collections.emptyList(), Collections.singletonList("src/test/**")));
+
+		List<String> fileNames = reader.parse().map(Diff::getFileName).collect(Collectors.toList());
+
+		assertEquals(Collections.singletonList("src/main/java/test/TestService.java"), fileNames);
+	}
+
+	@Test
+	public void streamLinesTest() throws URISyntaxException, FileNotFoundException {
+		File diffFile = new File(getClass().getClassLoader().getResource("test_diff.diff").toURI());
+		List<Diff> eager = new FileDiffReader(new BufferedReader(new FileReader(diffFile))).parse()
+				.collect(Collectors.toList());
+
+		FileDiffReader reader = new FileDiffReader(new BufferedReader(new FileReader(diffFile)));
+		reader.setStreamLines(true);
+		List<Diff> streamed;
+		try (Stream<Diff> parse = reader.parse(4)) {
+			streamed = parse.collect(Collectors.toList());
+		}
+
+		assertEquals(eager, streamed);
+	}
+
+	@Test
+	public void maxLinesPerFileTest() {
+		String s = "diff --git a/src/main/java/Large.java b/src/main/java/Large.java\n" +
+				"@@ -1,0 +1,3 @@\n" +
+				"+a\n" +
+				"+b\n" +
+				"+c\n" +
+				"diff --git a/src/main/java/Small.java b/src/main/java/Small.java\n" +
+				"@@ -1,0 +1 @@\n" +
+				"+a\n";
+
+		for (boolean streamLines : new boolean[]{false, true}) {
+			FileDiffReader reader = new FileDiffReader(new BufferedReader(new StringReader(s)));
+			reader.setStreamLines(streamLines);
+			reader.setMaxLinesPerFile(3);
+			List<Diff> diffs = reader.parse().collect(Collectors.toList());
+
+			assertEquals(2, diffs.size());
+			assertEquals("src/main/java/Large.java", diffs.get(0).getFileName());
+			assertTrue(diffs.get(0).getDiffSectionList().isEmpty());
+			assertEquals("src/main/java/Small.java", diffs.get(1).getFileName());
+			assertEquals(1, diffs.get(1).getDiffSectionList().size());
+		}
+	}
+
+	@Test
+	public void headerTextInLineTest() {
+		String s = "diff --git a/src/main/java/A.java b/src/main/java/A.java\n" +
+				"@@ -1,0 +1,3 @@\n" +
+				"+String header = \"diff --git a/x b/x\";\n" +
+				" diff --git a/y b/y\n" +
+				"+b\n" +
+				"diff --git a/src/main/java/B.java b/src/main/java/B.java\n" +
+				"@@ -1,0 +1 @@\n" +
+				"+a\n";
+
+		for (boolean streamLines : new boolean[]{false, true}) {
+			FileDiffReader reader = new FileDiffReader(new BufferedReader(new StringReader(s)));
+			reader.setStreamLines(streamLines);
+			List<Diff> diffs = reader.parse().collect(Collectors.toList());
+
+			// 라인 중간의 "diff --git " 은 header 가 아니다.
+			assertEquals(2, diffs.size());
+			assertEquals("src/main/java/A.java", diffs.get(0).getFileName());
+			assertEquals(Arrays.asList(1, 3), diffs.get(0).getDiffSectionList().stream()
+					.flatMap(section -> section.getLineList().stream())
+					.filter(l -> l.getType() == ModifyType.ADD)
+					.map(Line::getLineNumber)
+					.collect(Collectors.toList()));
+			assertEquals("src/main/java/B.java", diffs.get(1).getFileName());
+		}
+
+		// 제외된 파일을 건너뛸 때도 같다.
+		FileDiffReader reader = new FileDiffReader(new BufferedReader(new StringReader(s)));
+		reader.setPathFilter(PathFilter.of(Collections.emptyList(), Collections.singletonList("**/A.java")));
+		assertEquals(Collections.singletonList("src/main/java/B.java"),
+				reader.parse().map(Diff::getFileName).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void gzipDiffTest(@TempDir Path dir) throws URISyntaxException, IOException {
+		File diffFile = new File(getClass().getClassLoader().getResource("test_diff.diff").toURI());
+		Path compressed = dir.resolve("test_diff.diff.gz");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+			Files.copy(diffFile.toPath(), out);
+		}
+
+		List<Diff> expected = new FileDiffReader(diffFile.getPath()).parse().collect(Collectors.toList());
+		List<Diff> actual = new FileDiffReader(compressed.toString()).parse().collect(Collectors.toList());
+
+		assertEquals(expected, actual);
+	}
+}
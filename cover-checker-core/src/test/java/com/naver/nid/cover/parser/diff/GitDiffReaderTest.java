@@ -0,0 +1,103 @@
+package com.naver.nid.cover.parser.diff;
+
+import com.naver.nid.cover.parser.diff.exception.ParseException;
+import com.naver.nid.cover.parser.diff.model.Diff;
+import com.naver.nid.cover.parser.diff.model.Line;
+import com.naver.nid.cover.parser.diff.model.ModifyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class GitDiffReaderTest {
+
+	@TempDir
+	Path dir;
+
+	private Path repository;
+	private File gitOutput;
+
+	@BeforeEach
+	public void setUp() throws IOException, InterruptedException {
+		// git 출력이 commit 되지 않도록 저장소 밖에 쓴다.
+		repository = Files.createDirectory(dir.resolve("repository"));
+		gitOutput = dir.resolve("git-output").toFile();
+		assumeTrue(git("init", "-q"), "git is not available");
+
+		write("src/main/java/A.java", "class A {", "\tint a;", "\tint b;", "}");
+		write("src/main/java/B.java", "class B {", "}");
+		git("add", ".");
+		git("commit", "-q", "-m", "base");
+
+		write("src/main/java/A.java", "class A {", "\tint a;", "\tint added1;", "\tint added2;", "}");
+		write("src/main/java/B.java", "class B {", "\tint added;", "}");
+		git("commit", "-q", "-a", "-m", "head");
+	}
+
+	@Test
+	public void zeroContextDiff() {
+		List<Diff> diffs;
+		try (Stream<Diff> diff = new GitDiffReader(repository.toFile(), "HEAD~1..HEAD").parse()) {
+			diffs = diff.collect(Collectors.toList());
+		}
+
+		assertEquals(2, diffs.size());
+		assertEquals("src/main/java/A.java", diffs.get(0).getFileName());
+		assertEquals(Arrays.asList(3, 4), addedLines(diffs.get(0)));
+		assertEquals("src/main/java/B.java", diffs.get(1).getFileName());
+		assertEquals(Arrays.asList(2), addedLines(diffs.get(1)));
+	}
+
+	@Test
+	public void unknownRevision() {
+		GitDiffReader reader = new GitDiffReader(repository.toFile(), "unknown..HEAD");
+		assertThrows(ParseException.class, () -> {
+			try (Stream<Diff> diff = reader.parse()) {
+				diff.count();
+			}
+		});
+	}
+
+	private static List<Integer> addedLines(Diff diff) {
+		return diff.getDiffSectionList().stream()
+				.flatMap(s -> s.getLineList().stream())
+				.filter(l -> l.getType() == ModifyType.ADD)
+				.map(Line::getLineNumber)
+				.collect(Collectors.toList());
+	}
+
+	private void write(String path, String... lines) throws IOException {
+		Path file = repository.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+	}
+
+	private boolean git(String... args) throws InterruptedException {
+		String[] command = Stream.concat(
+				Stream.of("git", "-c", "user.name=test", "-c", "user.email=test@test", "-c", "commit.gpgsign=false"),
+				Stream.of(args)).toArray(String[]::new);
+		try {
+			return new ProcessBuilder(command)
+					.directory(repository.toFile())
+					.redirectOutput(ProcessBuilder.Redirect.appendTo(gitOutput))
+					.redirectErrorStream(true)
+					.start()
+					.waitFor() == 0;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.naver.nid.cover.parser.diff;
+
+import com.naver.nid.cover.parser.diff.model.Diff;
+import com.naver.nid.cover.parser.diff.model.FileType;
+import com.naver.nid.cover.parser.diff.model.Line;
+import com.naver.nid.cover.parser.diff.model.ModifyType;
+import com.naver.nid.cover.parser.diff.model.RawDiff;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileDiffReaderTest {
+
+	@Test
+	public void sameAddedLinesAsFileDiffReader() throws URISyntaxException, IOException {
+		File diffFile = new File(getClass().getClassLoader().getResource("test_diff.diff").toURI());
+
+		Map<String, List<Integer>> expected;
+		try (Stream<Diff> diff = new FileDiffReader(new BufferedReader(new FileReader(diffFile))).parse()) {
+			expected = addedLines(diff);
+		}
+
+		Map<String, List<Integer>> actual;
+		try (Stream<Diff> diff = new MappedFileDiffReader(diffFile.getPath()).parse()) {
+			actual = addedLines(diff);
+		}
+
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void skipFileOverMaxLines(@TempDir Path dir) throws IOException {
+		String s = "diff --git a/src/main/java/A.java b/src/main/java/A.java\n" +
+				"@@ -1 +1,4 @@\n" +
+				" a\n" +
+				"+b\n" +
+				"+c\n" +
+				"+d\n" +
+				"diff --git a/src/main/java/B.java b/src/main/java/B.java\n" +
+				"@@ -1 +1,2 @@\n" +
+				" a\n" +
+				"+b\n";
+		Path diffFile = dir.resolve("long.diff");
+		Files.write(diffFile, s.getBytes(StandardCharsets.UTF_8));
+
+		MappedFileDiffReader reader = new MappedFileDiffReader(diffFile.toString());
+		reader.setMaxLinesPerFile(3);
+		List<Diff> diffs;
+		try (Stream<Diff> diff = reader.parse()) {
+			diffs = diff.collect(Collectors.toList());
+		}
+
+		assertEquals(2, diffs.size());
+		assertEquals("src/main/java/A.java", diffs.get(0).getFileName());
+		assertEquals(0, diffs.get(0).getAddedLines().length);
+		assertEquals("src/main/java/B.java", diffs.get(1).getFileName());
+		assertArrayEquals(new int[]{2}, diffs.get(1).getAddedLines());
+	}
+
+	@Test
+	public void remapLongLines(@TempDir Path dir) throws IOException {
+		StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < 100; i++) longLine.append("long line ");
+
+		String s = "From 1234 Mon Sep 17 00:00:00 2001\r\n" +
+				"diff --git a/src/main/java/A.java b/src/main/java/A.java\r\n" +
+				"--- a/src/main/java/A.java\r\n" +
+				"+++ b/src/main/java/A.java\r\n" +
+				"@@ -10,3 +10,4 @@ class A {\r\n" +
+				" " + longLine + "\r\n" +
+				"-removed\r\n" +
+				"+" + longLine + "\r\n" +
+				"+added\r\n" +
+				"\\ No newline at end of file\r\n" +
+				"@@ -30 +31,2 @@\r\n" +
+				" context\r\n" +
+				"+added diff --git a/x b/x\r\n" +
+				"diff --git a/image.png b/image.png\r\n" +
+				"Binary files a/image.png and b/image.png differ\r\n" +
+				"diff --git a/src/main/java/B.java b/src/main/java/B.java\r\n" +
+				"old mode 100644\r\n" +
+				"new mode 100755";
+		Path diffFile = dir.resolve("long.diff");
+		Files.write(diffFile, s.getBytes(StandardCharsets.UTF_8));
+
+		List<Diff> diffs;
+		try (Stream<Diff> diff = new MappedFileDiffReader(diffFile.toString(), 16).parse()) {
+			diffs = diff.collect(Collectors.toList());
+		}
+
+		assertEquals(3, diffs.size());
+		assertEquals("src/main/java/A.java", diffs.get(0).getFileName());
+		assertTrue(diffs.get(0).getDiffSectionList().isEmpty());
+		assertEquals(Stream.of(11, 12, 32).collect(Collectors.toList()), addedLines(diffs.stream()).get("src/main/java/A.java"));
+		assertEquals("image.png", diffs.get(1).getFileName());
+		assertEquals(0, diffs.get(1).getAddedLines().length);
+		assertEquals("src/main/java/B.java", diffs.get(2).getFileName());
+		assertEquals(0, diffs.get(2).getAddedLines().length);
+	}
+
+	@Test
+	public void preambleMentioningHeader(@TempDir Path dir) throws IOException {
+		String s = "From 1234 Mon Sep 17 00:00:00 2001\n" +
+				"Subject: [PATCH] stop matching diff --git a/x b/x in the middle of a line\n" +
+				"\n" +
+				"    diff --git a/y b/y\n" +
+				"---\n" +
+				"diff --git a/src/main/java/A.java b/src/main/java/A.java\n" +
+				"@@ -1 +1,2 @@\n" +
+				" a\n" +
+				"+b\n";
+		Path diffFile = dir.resolve("preamble.diff");
+		Files.write(diffFile, s.getBytes(StandardCharsets.UTF_8));
+
+		List<Diff> diffs;
+		try (Stream<Diff> diff = new MappedFileDiffReader(diffFile.toString()).parse()) {
+			diffs = diff.collect(Collectors.toList());
+		}
+
+		assertEquals(1, diffs.size());
+		assertEquals("src/main/java/A.java", diffs.get(0).getFileName());
+		assertArrayEquals(new int[]{2}, diffs.get(0).getAddedLines());
+	}
+
+	@Test
+	public void pathFilter() throws URISyntaxException {
+		File diffFile = new File(getClass().getClassLoader().getResource("test_diff.diff").toURI());
+
+		MappedFileDiffReader reader = new MappedFileDiffReader(diffFile.getPath());
+		reader.setPathFilter(PathFilter.of(Collections.singletonList("src/test/**"), Collections.emptyList()));
+
+		try (Stream<Diff> diff = reader.parse()) {
+			assertEquals(Collections.singletonList("src/test/java/test/TestServiceTest.java"),
+					diff.map(Diff::getFileName).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void rawDiff(@TempDir Path dir) throws IOException {
+		String s = "diff --git a/A.java b/A.java\n" +
+				"@@ -1 +1 @@\n" +
+				"+a\n" +
+				"diff --git a/image.png b/image.png\n" +
+				"Binary files a/image.png and b/image.png differ\n";
+		Path diffFile = dir.resolve("raw.diff");
+		Files.write(diffFile, s.getBytes(StandardCharsets.UTF_8));
+
+		MappedFileDiffReader reader = new MappedFileDiffReader(diffFile.toString());
+		RawDiff source = reader.next();
+		assertEquals("b/A.java", source.getFileName());
+		assertEquals(FileType.SOURCE, source.getType());
+		assertEquals(2, source.size());
+		assertEquals("+a", source.getRawDiffLine(1));
+
+		RawDiff binary = reader.next();
+		assertEquals(FileType.BINARY, binary.getType());
+		assertFalse(reader.hasNext());
+		assertSame(RawDiff.END_OF_DIFF, reader.next());
+	}
+
+	private static Map<String, List<Integer>> addedLines(Stream<Diff> diff) {
+		return diff.collect(Collectors.toMap(Diff::getFileName
+				, d -> d.getAddedLines() != null
+						? IntStream.of(d.getAddedLines()).boxed().collect(Collectors.toList())
+						: d.getDiffSectionList().stream()
+								.flatMap(s -> s.getLineList().stream())
+								.filter(l -> l.getType() == ModifyType.ADD)
+								.map(Line::getLineNumber)
+								.collect(Collectors.toList())
+				, (l1, l2) -> l1
+				, LinkedHashMap::new));
+	}
+}
@@ -0,0 +1,36 @@
+package com.naver.nid.cover.parser.diff;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathFilterTest {
+
+	@Test
+	public void includeAndExclude() {
+		PathFilter filter = PathFilter.of(Arrays.asList("src/main/**", "**/*.kt"),
+				Arrays.asList("**/generated/**", "**/*.lock"));
+
+		assertTrue(filter.test("src/main/java/A.java"));
+		assertTrue(filter.test("Test.kt"));
+		assertTrue(filter.test("module/src/Test.kt"));
+		assertFalse(filter.test("src/test/java/ATest.java"));
+		assertFalse(filter.test("src/main/java/generated/B.java"));
+		assertFalse(filter.test("src/main/yarn.lock"));
+	}
+
+	@Test
+	public void excludeOnly() {
+		PathFilter filter = PathFilter.of(Collections.emptyList(), Collections.singletonList("**/*.snap"));
+
+		assertTrue(filter.test("src/main/java/A.java"));
+		assertFalse(filter.test("A.snap"));
+		assertFalse(filter.test("src/__snapshots__/A.snap"));
+		assertSame(PathFilter.ALL, PathFilter.of(null, Collections.emptyList()));
+	}
+}
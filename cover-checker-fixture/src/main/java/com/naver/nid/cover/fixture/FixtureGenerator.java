@@ -0,0 +1,327 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.fixture;
+
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p>같은 파일/라인 구성으로 diff 와 coverage report(JaCoCo xml, JaCoCo html zip, Cobertura xml)를 만든다.
+ * 라인의 커버 상태와 추가 여부는 seed 와 파일/라인 번호로 계산하므로 크기와 관계없이 메모리를 쓰지 않고
+ * 같은 설정이면 항상 같은 내용이 만들어진다.</p>
+ *
+ * <p>Synthetic monorepo-scale fixtures for benchmarks and load tests.</p>
+ */
+@Slf4j
+@Getter
+@Builder
+public class FixtureGenerator {
+	private static final int PACKAGE_COUNT = 100;
+	private static final int MODULE_COUNT = 10;
+
+	@Builder.Default
+	private final long seed = 20181120L;
+	/** coverage report 에 포함되는 파일 수 */
+	@Builder.Default
+	private final int fileCount = 1000;
+	@Builder.Default
+	private final int linesPerFile = 100;
+	/** diff 에 포함되는 파일 수, 전체 파일에 고르게 분포한다. */
+	@Builder.Default
+	private final int changedFileCount = 100;
+	/** 변경된 파일에서 추가된 라인의 비율 */
+	@Builder.Default
+	private final double changedRatio = 0.1;
+
+	public String packagePath(int file) {
+		return "com/naver/bench/p" + (file % PACKAGE_COUNT);
+	}
+
+	/**
+	 * @return coverage report 의 파일 경로 (ex. com/naver/bench/p1/File1.java)
+	 */
+	public String sourcePath(int file) {
+		return packagePath(file) + "/File" + file + ".java";
+	}
+
+	/**
+	 * @return diff 의 파일 경로 (ex. module1/src/main/java/com/naver/bench/p1/File1.java)
+	 */
+	public String diffPath(int file) {
+		return "module" + (file % MODULE_COUNT) + "/src/main/java/" + sourcePath(file);
+	}
+
+	public CoverageStatus status(int file, int line) {
+		int r = (int) ((hash(file, line, 0) >>> 33) % 100);
+		if (r < 30) return CoverageStatus.NOTHING;
+		if (r < 80) return CoverageStatus.COVERED;
+		if (r < 95) return CoverageStatus.UNCOVERED;
+		return CoverageStatus.CONDITION;
+	}
+
+	public boolean isChangedFile(int file) {
+		long c = Math.min(changedFileCount, fileCount);
+		return (file + 1) * c / fileCount > file * c / fileCount;
+	}
+
+	public boolean isAdded(int file, int line) {
+		return isChangedFile(file) && (hash(file, line, 1) >>> 11) * 0x1.0p-53 < changedRatio;
+	}
+
+	/**
+	 * @return diff 의 추가 라인 중 실행되는 라인 수
+	 */
+	public int expectedTotalNewLine() {
+		return countAdded(false);
+	}
+
+	/**
+	 * @return diff 의 추가 라인 중 테스트 된 라인 수
+	 */
+	public int expectedCoveredNewLine() {
+		return countAdded(true);
+	}
+
+	private int countAdded(boolean coveredOnly) {
+		int count = 0;
+		for (int f = 0; f < fileCount; f++) {
+			if (!isChangedFile(f)) continue;
+			for (int l = 1; l <= linesPerFile; l++) {
+				if (!isAdded(f, l)) continue;
+				CoverageStatus s = status(f, l);
+				if (s == CoverageStatus.NOTHING) continue;
+				if (!coveredOnly || s == CoverageStatus.COVERED || s == CoverageStatus.CONDITION) count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * git diff 형식의 diff 파일을 만든다. 추가된 라인이 연속되는 구간마다 hunk 를 만든다.
+	 */
+	public void writeDiff(Path path) throws IOException {
+		try (Writer w = writer(Files.newOutputStream(path))) {
+			for (int f = 0; f < fileCount; f++) {
+				if (!isChangedFile(f)) continue;
+
+				String name = diffPath(f);
+				w.append("diff --git a/").append(name).append(" b/").append(name).append('\n')
+						.append("index 0000000..1111111 100644\n")
+						.append("--- a/").append(name).append('\n')
+						.append("+++ b/").append(name).append('\n');
+
+				int l = 1;
+				while (l <= linesPerFile) {
+					if (!isAdded(f, l)) {
+						l++;
+						continue;
+					}
+
+					int start = l;
+					while (l <= linesPerFile && isAdded(f, l)) l++;
+					w.append("@@ -").append(Integer.toString(start - 1)).append(",0 +")
+							.append(Integer.toString(start)).append(',').append(Integer.toString(l - start)).append(" @@\n");
+					for (int i = start; i < l; i++) {
+						w.append('+').append(code(i)).append('\n');
+					}
+				}
+			}
+		}
+		log.info("write diff {}", path);
+	}
+
+	public void writeJacocoXml(Path path) throws IOException {
+		try (Writer w = writer(Files.newOutputStream(path))) {
+			w.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+					.append("<!DOCTYPE report PUBLIC \"-//JACOCO//DTD Report 1.1//EN\" \"report.dtd\">")
+					.append("<report name=\"fixture\"><sessioninfo id=\"fixture\" start=\"0\" dump=\"0\"/>");
+			for (int p = 0; p < Math.min(PACKAGE_COUNT, fileCount); p++) {
+				w.append("<package name=\"").append(packagePath(p)).append("\">");
+				for (int f = p; f < fileCount; f += PACKAGE_COUNT) {
+					w.append("<class name=\"").append(packagePath(f)).append("/File").append(Integer.toString(f))
+							.append("\" sourcefilename=\"File").append(Integer.toString(f)).append(".java\">")
+							.append("<method name=\"run\" desc=\"()V\" line=\"1\">")
+							.append("<counter type=\"INSTRUCTION\" missed=\"0\" covered=\"3\"/>")
+							.append("<counter type=\"LINE\" missed=\"0\" covered=\"1\"/></method>")
+							.append("<counter type=\"LINE\" missed=\"0\" covered=\"1\"/></class>");
+				}
+				for (int f = p; f < fileCount; f += PACKAGE_COUNT) {
+					w.append("<sourcefile name=\"File").append(Integer.toString(f)).append(".java\">");
+					for (int l = 1; l <= linesPerFile; l++) {
+						CoverageStatus s = status(f, l);
+						if (s == CoverageStatus.NOTHING) continue;
+
+						w.append("<line nr=\"").append(Integer.toString(l)).append('"')
+								.append(s == CoverageStatus.UNCOVERED ? " mi=\"3\" ci=\"0\"" : " mi=\"0\" ci=\"3\"")
+								.append(s == CoverageStatus.CONDITION ? " mb=\"1\" cb=\"1\"" : " mb=\"0\" cb=\"0\"")
+								.append("/>");
+					}
+					w.append("<counter type=\"LINE\" missed=\"0\" covered=\"1\"/></sourcefile>");
+				}
+				w.append("<counter type=\"LINE\" missed=\"0\" covered=\"1\"/></package>");
+			}
+			w.append("<counter type=\"LINE\" missed=\"0\" covered=\"1\"/></report>");
+		}
+		log.info("write jacoco xml {}", path);
+	}
+
+	public void writeCoberturaXml(Path path) throws IOException {
+		try (Writer w = writer(Files.newOutputStream(path))) {
+			w.append("<?xml version=\"1.0\"?>\n")
+					.append("<!DOCTYPE coverage SYSTEM \"http://cobertura.sourceforge.net/xml/coverage-04.dtd\">\n\n")
+					.append("<coverage line-rate=\"1.0\" branch-rate=\"1.0\" version=\"2.1.1\" timestamp=\"0\">\n")
+					.append("\t<packages>\n");
+			for (int p = 0; p < Math.min(PACKAGE_COUNT, fileCount); p++) {
+				w.append("\t\t<package name=\"").append(packagePath(p).replace('/', '.')).append("\">\n\t\t\t<classes>\n");
+				for (int f = p; f < fileCount; f += PACKAGE_COUNT) {
+					w.append("\t\t\t\t<class name=\"").append(packagePath(f).replace('/', '.')).append(".File").append(Integer.toString(f))
+							.append("\" filename=\"").append(sourcePath(f)).append("\">\n")
+							.append("\t\t\t\t\t<methods>\n\t\t\t\t\t\t<method name=\"run\" signature=\"()V\">\n")
+							.append("\t\t\t\t\t\t\t<lines>\n\t\t\t\t\t\t\t\t<line number=\"1\" hits=\"1\" branch=\"false\"/>\n\t\t\t\t\t\t\t</lines>\n")
+							.append("\t\t\t\t\t\t</method>\n\t\t\t\t\t</methods>\n")
+							.append("\t\t\t\t\t<lines>\n");
+					for (int l = 1; l <= linesPerFile; l++) {
+						CoverageStatus s = status(f, l);
+						if (s == CoverageStatus.NOTHING) continue;
+
+						w.append("\t\t\t\t\t\t<line number=\"").append(Integer.toString(l)).append('"')
+								.append(s == CoverageStatus.UNCOVERED ? " hits=\"0\"" : " hits=\"1\"")
+								.append(s == CoverageStatus.CONDITION ? " branch=\"true\" condition-coverage=\"50% (1/2)\"" : " branch=\"false\"")
+								.append("/>\n");
+					}
+					w.append("\t\t\t\t\t</lines>\n\t\t\t\t</class>\n");
+				}
+				w.append("\t\t\t</classes>\n\t\t</package>\n");
+			}
+			w.append("\t</packages>\n</coverage>\n");
+		}
+		log.info("write cobertura xml {}", path);
+	}
+
+	/**
+	 * JaCoCo html report 의 source 페이지를 패키지 디렉토리 아래에 만든다.
+	 *
+	 * @param dir report 디렉토리
+	 * @return 생성한 source html 파일 목록
+	 */
+	public List<Path> writeJacocoHtml(Path dir) throws IOException {
+		List<Path> files = new ArrayList<>(fileCount);
+		for (int f = 0; f < fileCount; f++) {
+			Path pkgDir = dir.resolve(packagePath(f).replace('/', '.'));
+			Files.createDirectories(pkgDir);
+			Path file = pkgDir.resolve("File" + f + ".java.html");
+			try (Writer w = writer(Files.newOutputStream(file))) {
+				writeJacocoHtmlSource(w, f);
+			}
+			files.add(file);
+		}
+		log.info("write jacoco html {}", dir);
+		return files;
+	}
+
+	/**
+	 * {@link #writeJacocoHtml(Path)} 와 같은 구조를 zip 파일 하나로 만든다.
+	 */
+	public void writeJacocoHtmlZip(Path path) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(path))) {
+			Writer w = writer(zip);
+			for (int f = 0; f < fileCount; f++) {
+				zip.putNextEntry(new ZipEntry(packagePath(f).replace('/', '.') + "/File" + f + ".java.html"));
+				writeJacocoHtmlSource(w, f);
+				w.flush();
+				zip.closeEntry();
+			}
+		}
+		log.info("write jacoco html zip {}", path);
+	}
+
+	private void writeJacocoHtmlSource(Writer w, int file) throws IOException {
+		w.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><html xmlns=\"http://www.w3.org/1999/xhtml\" lang=\"en\"><head>")
+				.append("<title>File").append(Integer.toString(file)).append(".java</title></head><body>")
+				.append("<h1>File").append(Integer.toString(file)).append(".java</h1>")
+				.append("<pre class=\"source lang-java linenums\">");
+		for (int l = 1; l <= linesPerFile; l++) {
+			CoverageStatus s = status(file, l);
+			if (s == CoverageStatus.NOTHING) {
+				w.append(code(l)).append('\n');
+				continue;
+			}
+
+			String className = s == CoverageStatus.COVERED ? "fc" : s == CoverageStatus.UNCOVERED ? "nc" : "pc bpc";
+			w.append("<span class=\"").append(className).append("\" id=\"L").append(Integer.toString(l)).append("\">")
+					.append(code(l)).append("</span>\n");
+		}
+		w.append("</pre></body></html>");
+	}
+
+	private static String code(int line) {
+		return "\t\tint line" + line + " = " + line + ";";
+	}
+
+	/**
+	 * splitmix64 로 seed, 파일, 라인 번호를 섞는다.
+	 */
+	private long hash(int file, int line, int salt) {
+		long z = seed + 0x9E3779B97F4A7C15L * ((((long) file << 32) | line) * 31 + salt + 1);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	private static Writer writer(OutputStream out) {
+		return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+	}
+
+	/**
+	 * 사용법: FixtureGenerator &lt;output dir&gt; [fileCount] [linesPerFile] [changedFileCount] [changedRatio] [seed]
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("usage: FixtureGenerator <output dir> [fileCount] [linesPerFile] [changedFileCount] [changedRatio] [seed]");
+			return;
+		}
+
+		FixtureGeneratorBuilder builder = FixtureGenerator.builder();
+		if (args.length > 1) builder.fileCount(Integer.parseInt(args[1]));
+		if (args.length > 2) builder.linesPerFile(Integer.parseInt(args[2]));
+		if (args.length > 3) builder.changedFileCount(Integer.parseInt(args[3]));
+		if (args.length > 4) builder.changedRatio(Double.parseDouble(args[4]));
+		if (args.length > 5) builder.seed(Long.parseLong(args[5]));
+		FixtureGenerator generator = builder.build();
+
+		Path dir = Files.createDirectories(Paths.get(args[0]));
+		generator.writeDiff(dir.resolve("fixture.diff"));
+		generator.writeJacocoXml(dir.resolve("jacoco.xml"));
+		generator.writeJacocoHtmlZip(dir.resolve("jacoco-html.zip"));
+		generator.writeCoberturaXml(dir.resolve("coverage.xml"));
+	}
+}
@@ -0,0 +1,65 @@
+package com.naver.nid.cover.fixture;
+
+import com.naver.nid.cover.checker.NewCoverageChecker;
+import com.naver.nid.cover.checker.model.NewCoverageCheckReport;
+import com.naver.nid.cover.cobertura.CoberturaCoverageReportHandler;
+import com.naver.nid.cover.jacoco.JacocoReportParser;
+import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+import com.naver.nid.cover.parser.diff.FileDiffReader;
+import com.naver.nid.cover.parser.diff.model.Diff;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FixtureGeneratorTest {
+
+	private final FixtureGenerator generator = FixtureGenerator.builder()
+			.fileCount(150)
+			.linesPerFile(40)
+			.changedFileCount(30)
+			.changedRatio(0.3)
+			.build();
+
+	@Test
+	public void reportsHaveSameCoverage(@TempDir Path dir) throws Exception {
+		generator.writeJacocoXml(dir.resolve("jacoco.xml"));
+		generator.writeCoberturaXml(dir.resolve("coverage.xml"));
+		generator.writeJacocoHtmlZip(dir.resolve("jacoco.zip"));
+
+		Map<String, LineCoverage> jacocoXml = toMap(new JacocoReportParser().parse(dir.resolve("jacoco.xml").toFile()));
+		Map<String, LineCoverage> cobertura = toMap(new XmlCoverageReportParser(CoberturaCoverageReportHandler::new)
+				.parse(dir.resolve("coverage.xml").toFile()));
+		Map<String, LineCoverage> jacocoHtml = toMap(new JacocoReportParser().parse(dir.resolve("jacoco.zip").toFile()));
+
+		assertEquals(150, jacocoXml.size());
+		assertEquals(jacocoXml, cobertura);
+		assertEquals(jacocoXml, jacocoHtml);
+		assertEquals(generator.status(7, 3), jacocoXml.get(generator.sourcePath(7)).getStatus(3));
+	}
+
+	@Test
+	public void diffMatchesExpectedCoverage(@TempDir Path dir) throws Exception {
+		generator.writeDiff(dir.resolve("fixture.diff"));
+		generator.writeJacocoXml(dir.resolve("jacoco.xml"));
+
+		List<Diff> diff = new FileDiffReader(dir.resolve("fixture.diff").toString()).parse().collect(Collectors.toList());
+		List<FileCoverageReport> coverage = new JacocoReportParser().parse(dir.resolve("jacoco.xml").toFile());
+		NewCoverageCheckReport report = new NewCoverageChecker().check(coverage, diff, 0, 0, "");
+
+		assertEquals(30, diff.size());
+		assertEquals(generator.expectedTotalNewLine(), report.getTotalNewLine());
+		assertEquals(generator.expectedCoveredNewLine(), report.getCoveredNewLine());
+	}
+
+	private static Map<String, LineCoverage> toMap(List<FileCoverageReport> reports) {
+		return reports.stream().collect(Collectors.toMap(FileCoverageReport::getFileName, FileCoverageReport::getLineCoverage));
+	}
+}
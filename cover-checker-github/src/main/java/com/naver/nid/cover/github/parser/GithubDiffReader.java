@@ -17,6 +17,7 @@ package com.naver.nid.cover.github.parser;
 
 import com.naver.nid.cover.github.manager.GithubDiffManager;
 import com.naver.nid.cover.github.manager.GithubPullRequestManager;
+import com.naver.nid.cover.parser.diff.DiffMapper;
 import com.naver.nid.cover.parser.diff.DiffParser;
 import com.naver.nid.cover.parser.diff.exception.ParseException;
 import com.naver.nid.cover.parser.diff.model.FileType;
@@ -29,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @Slf4j
 public class GithubDiffReader extends DiffParser {
@@ -36,11 +38,28 @@ public class GithubDiffReader extends DiffParser {
 	private final GithubDiffManager diffManager;
 
 	private Iterator<CommitFile> files;
+	private CommitFile nextFile;
+
+	private int maxLinesPerFile;
 
 	public GithubDiffReader(GithubPullRequestManager prManager) {
+		this(prManager, DiffMapper.getDefault());
+	}
+
+	public GithubDiffReader(GithubPullRequestManager prManager, DiffMapper diffMapper) {
+		super(diffMapper);
 		this.diffManager = prManager.diffManager();
 	}
 
+	/**
+	 * patch 는 API 응답으로 한번에 받으므로 라인을 나누기 전에 제한한다.
+	 *
+	 * @param maxLinesPerFile 파일 하나의 diff 라인 수 제한, 넘는 파일은 경고를 남기고 검사하지 않는다. 0 이하이면 제한하지 않는다.
+	 */
+	public void setMaxLinesPerFile(int maxLinesPerFile) {
+		this.maxLinesPerFile = maxLinesPerFile;
+	}
+
 	@Override
 	public boolean hasNext() {
 		if (files == null) {
@@ -50,16 +69,31 @@ public class GithubDiffReader extends DiffParser {
 				throw new ParseException("error while get file patch list", e);
 			}
 		}
-		return files.hasNext();
+		while (nextFile == null && files.hasNext()) {
+			CommitFile file = files.next();
+			if (isTargetPath(file.getFilename())) {
+				nextFile = file;
+			}
+		}
+		return nextFile != null;
 	}
 
 	@Override
 	public RawDiff next() {
-		CommitFile file = files.next();
+		if (!hasNext()) throw new NoSuchElementException();
+		CommitFile file = nextFile;
+		nextFile = null;
 		log.info("get file {}", file.getFilename());
 		List<String> lines;
+		boolean truncated = false;
 		if (file.getPatch() != null && file.getPatch().length() > 0) {
-			lines = Arrays.asList(file.getPatch().split("\r?\n"));
+			lines = Arrays.asList(file.getPatch().split("\r?\n", maxLinesPerFile > 0 ? maxLinesPerFile + 1 : 0));
+			if (maxLinesPerFile > 0 && lines.size() > maxLinesPerFile) {
+				// 마지막 원소는 나누지 않은 나머지, 끝의 개행만 남았으면 제한을 넘지 않았다.
+				truncated = !lines.get(maxLinesPerFile).trim().isEmpty();
+				if (truncated) log.warn("diff of {} is longer than {} lines, skip the rest", file.getFilename(), maxLinesPerFile);
+				lines = lines.subList(0, maxLinesPerFile);
+			}
 		} else {
 			lines = Collections.emptyList();
 		}
@@ -67,6 +101,7 @@ public class GithubDiffReader extends DiffParser {
 				.fileName(file.getFilename())
 				.rawDiff(lines)
 				.type(file.getPatch() != null ? FileType.SOURCE : FileType.BINARY)
+				.truncated(truncated)
 				.build();
 	}
 
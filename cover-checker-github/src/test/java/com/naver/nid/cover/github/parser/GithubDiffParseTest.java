@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -40,4 +41,22 @@ class GithubDiffParseTest {
 
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void skipPatchOverMaxLines() throws IOException {
+		GithubPullRequestManager mockPrManager = mock(GithubPullRequestManager.class);
+		GithubDiffManager mockDiffManager = mock(GithubDiffManager.class);
+		CommitFile longFile = new CommitFile().setFilename("src/main/java/A.java").setPatch("@@ -1 +1,4 @@\n a\n+b\n+c\n+d");
+		CommitFile shortFile = new CommitFile().setFilename("src/main/java/B.java").setPatch("@@ -1 +1,2 @@\n a\n+b\n");
+		doReturn(Arrays.asList(longFile, shortFile)).when(mockDiffManager).getFiles();
+		doReturn(mockDiffManager).when(mockPrManager).diffManager();
+
+		GithubDiffReader githubDiffParser = new GithubDiffReader(mockPrManager);
+		githubDiffParser.setMaxLinesPerFile(3);
+		List<Diff> parsedResult = githubDiffParser.parse().collect(Collectors.toList());
+
+		assertEquals(2, parsedResult.size());
+		assertTrue(parsedResult.get(0).getDiffSectionList().isEmpty());
+		assertFalse(parsedResult.get(1).getDiffSectionList().isEmpty());
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.jacoco.exec;
+
+import com.naver.nid.cover.parser.CompressedInputs;
+import com.naver.nid.cover.parser.coverage.CoverageReportParser;
+import com.naver.nid.cover.parser.coverage.exception.ParseException;
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+import lombok.extern.slf4j.Slf4j;
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.tools.ExecFileLoader;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p>jacoco.exec 의 실행 정보와 compile 된 class 파일로 라인별 coverage 를 계산한다. jacoco report 를 만들지 않아도 된다.
+ * fileFilter 를 통과한 source 파일의 class 만 분석한다.</p>
+ *
+ * <p>Computes line coverage from jacoco execution data and class files, the same way as the jacoco xml report.
+ * Class files have to be the ones the execution data was recorded with.</p>
+ */
+@Slf4j
+public class JacocoExecReportParser implements CoverageReportParser {
+
+	private final List<File> classLocations;
+
+	/**
+	 * @param classLocations class 파일이 있는 디렉토리, jar 또는 class 파일
+	 */
+	public JacocoExecReportParser(List<File> classLocations) {
+		this.classLocations = classLocations;
+	}
+
+	/**
+	 * 결과가 exec 파일뿐 아니라 class 파일에도 따르고, fileFilter 로 분석할 class 를 줄이므로 cache 하지 않는다.
+	 */
+	@Override
+	public String getCacheIdentity() {
+		return null;
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File execFile) {
+		return parse(execFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File execFile, Predicate<String> fileFilter) {
+		log.debug("parse {} with classes {}", execFile.getName(), classLocations);
+		CoverageBuilder coverage = new CoverageBuilder();
+		Analyzer analyzer = new Analyzer(load(execFile), coverage);
+		try {
+			for (File location : classLocations) {
+				analyze(analyzer, location, fileFilter);
+			}
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+
+		return coverage.getSourceFiles().stream()
+				.map(this::toReport)
+				.collect(Collectors.toList());
+	}
+
+	private ExecutionDataStore load(File execFile) {
+		ExecFileLoader loader = new ExecFileLoader();
+		try (InputStream in = CompressedInputs.open(execFile)) {
+			loader.load(in);
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+		return loader.getExecutionDataStore();
+	}
+
+	private void analyze(Analyzer analyzer, File location, Predicate<String> fileFilter) throws IOException {
+		if (location.isDirectory()) {
+			try (Stream<Path> files = Files.walk(location.toPath())) {
+				for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class"))::iterator) {
+					analyzeClass(analyzer, Files.readAllBytes(file), file.toString(), fileFilter);
+				}
+			}
+		} else if (location.getName().endsWith(".class")) {
+			analyzeClass(analyzer, Files.readAllBytes(location.toPath()), location.getPath(), fileFilter);
+		} else if (location.isFile()) {
+			try (ZipFile jar = new ZipFile(location)) {
+				Enumeration<? extends ZipEntry> entries = jar.entries();
+				while (entries.hasMoreElements()) {
+					ZipEntry entry = entries.nextElement();
+					if (!entry.getName().endsWith(".class")) continue;
+					try (InputStream in = jar.getInputStream(entry)) {
+						analyzeClass(analyzer, readAll(in), location.getName() + "@" + entry.getName(), fileFilter);
+					}
+				}
+			}
+		} else {
+			log.warn("class location {} does not exist", location);
+		}
+	}
+
+	private void analyzeClass(Analyzer analyzer, byte[] classBytes, String location, Predicate<String> fileFilter) throws IOException {
+		String sourcePath;
+		try {
+			sourcePath = sourcePath(classBytes);
+		} catch (IllegalArgumentException e) {
+			// jacoco 0.8.2 의 ASM 은 Java 11(class 파일 major version 55) 까지만 읽는다.
+			throw new ParseException("unsupported class file " + location + ", jacoco-exec reads class files up to Java 11", e);
+		}
+		if (sourcePath == null || !fileFilter.test(sourcePath)) return;
+
+		log.debug("analyze {}", location);
+		analyzer.analyzeClass(classBytes, location);
+	}
+
+	/**
+	 * 코드는 읽지 않고 class 의 package 와 SourceFile attribute 만 확인한다.
+	 *
+	 * @return jacoco report 와 같은 형태의 source 경로, 예) com/naver/Test.java. debug 정보가 없으면 null
+	 */
+	private static String sourcePath(byte[] classBytes) {
+		ClassReader reader = new ClassReader(classBytes);
+		String className = reader.getClassName();
+		String[] sourceFile = new String[1];
+		reader.accept(new ClassVisitor(Opcodes.ASM6) {
+			@Override
+			public void visitSource(String source, String debug) {
+				sourceFile[0] = source;
+			}
+		}, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+
+		if (sourceFile[0] == null) return null;
+		return className.substring(0, Math.max(0, className.lastIndexOf('/'))) + "/" + sourceFile[0];
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	private FileCoverageReport toReport(ISourceFileCoverage source) {
+		String name = source.getName();
+		FileCoverageReport report = new FileCoverageReport();
+		report.setFileName(source.getPackageName() + "/" + name);
+		report.setType(name.substring(name.indexOf('.') + 1));
+
+		LineCoverage.Builder lines = LineCoverage.builder();
+		for (int nr = source.getFirstLine(); nr != ISourceNode.UNKNOWN_LINE && nr <= source.getLastLine(); nr++) {
+			ILine line = source.getLine(nr);
+			if (line.getStatus() != ICounter.EMPTY) {
+				lines.add(nr, lineStatus(line));
+			}
+		}
+		report.setLineCoverage(lines.build());
+		return report;
+	}
+
+	/**
+	 * jacoco xml report 의 mi, mb, cb 와 같은 기준
+	 */
+	private static CoverageStatus lineStatus(ILine line) {
+		int missInstruction = line.getInstructionCounter().getMissedCount();
+		int missBranch = line.getBranchCounter().getMissedCount();
+		int coverBranch = line.getBranchCounter().getCoveredCount();
+
+		if (missInstruction == 0 && missBranch == 0) {
+			return CoverageStatus.COVERED;
+		} else if (missBranch > 0 && coverBranch > 0) {
+			return CoverageStatus.CONDITION;
+		}
+		return CoverageStatus.UNCOVERED;
+	}
+}
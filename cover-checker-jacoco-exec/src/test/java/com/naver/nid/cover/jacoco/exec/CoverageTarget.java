@@ -0,0 +1,24 @@
+package com.naver.nid.cover.jacoco.exec;
+
+/**
+ * 라인 끝의 주석이 테스트에서 기대하는 coverage
+ */
+public class CoverageTarget implements Runnable {
+	private int value;
+
+	@Override
+	public void run() {
+		value = check(1); // covered
+	}
+
+	int check(int a) {
+		if (a > 0) { // condition
+			return a; // covered
+		}
+		return -a; // uncovered
+	}
+
+	void neverCalled() {
+		value = 0; // uncovered
+	}
+}
@@ -0,0 +1,145 @@
+package com.naver.nid.cover.jacoco.exec;
+
+import com.naver.nid.cover.parser.coverage.exception.ParseException;
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfoStore;
+import org.jacoco.core.instr.Instrumenter;
+import org.jacoco.core.runtime.IRuntime;
+import org.jacoco.core.runtime.LoggerRuntime;
+import org.jacoco.core.runtime.RuntimeData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JacocoExecReportParserTest {
+	private static final String TARGET = CoverageTarget.class.getName();
+	private static final String SOURCE_PATH = "com/naver/nid/cover/jacoco/exec/CoverageTarget.java";
+
+	@TempDir
+	Path dir;
+
+	private Path classes;
+	private Path execFile;
+
+	/**
+	 * jacoco agent 없이 class 를 instrument 해서 실행하고 exec 파일과 원본 class 파일을 만든다.
+	 */
+	@BeforeEach
+	public void setUp() throws Exception {
+		String resource = TARGET.replace('.', '/') + ".class";
+		byte[] original;
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+			original = readAll(in);
+		}
+		classes = dir.resolve("classes");
+		Files.createDirectories(classes.resolve(resource).getParent());
+		Files.write(classes.resolve(resource), original);
+
+		IRuntime runtime = new LoggerRuntime();
+		byte[] instrumented = new Instrumenter(runtime).instrument(original, TARGET);
+		RuntimeData data = new RuntimeData();
+		runtime.startup(data);
+		try {
+			Class<?> target = new ClassLoader(getClass().getClassLoader()) {
+				@Override
+				protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+					if (TARGET.equals(name)) return defineClass(name, instrumented, 0, instrumented.length);
+					return super.loadClass(name, resolve);
+				}
+			}.loadClass(TARGET);
+			((Runnable) target.getDeclaredConstructor().newInstance()).run();
+		} finally {
+			runtime.shutdown();
+		}
+
+		ExecutionDataStore executionData = new ExecutionDataStore();
+		SessionInfoStore sessions = new SessionInfoStore();
+		data.collect(executionData, sessions, false);
+
+		execFile = dir.resolve("jacoco.exec");
+		try (OutputStream out = Files.newOutputStream(execFile)) {
+			ExecutionDataWriter writer = new ExecutionDataWriter(out);
+			sessions.accept(writer);
+			executionData.accept(writer);
+		}
+	}
+
+	@Test
+	public void lineCoverage() throws IOException {
+		List<FileCoverageReport> reports = new JacocoExecReportParser(Collections.singletonList(classes.toFile()))
+				.parse(execFile.toFile());
+
+		assertEquals(1, reports.size());
+		FileCoverageReport report = reports.get(0);
+		assertEquals(SOURCE_PATH, report.getFileName());
+		assertEquals("java", report.getType());
+
+		List<String> source = Files.readAllLines(Paths.get("src/test/java", SOURCE_PATH), StandardCharsets.UTF_8);
+		int checked = 0;
+		for (int i = 0; i < source.size(); i++) {
+			String line = source.get(i);
+			CoverageStatus status = report.getLineCoverage().getStatus(i + 1);
+			if (line.endsWith("// covered")) {
+				assertSame(CoverageStatus.COVERED, status, line);
+			} else if (line.endsWith("// uncovered")) {
+				assertSame(CoverageStatus.UNCOVERED, status, line);
+			} else if (line.endsWith("// condition")) {
+				assertSame(CoverageStatus.CONDITION, status, line);
+			} else {
+				continue;
+			}
+			checked++;
+		}
+		assertEquals(5, checked);
+	}
+
+	@Test
+	public void analyzeOnlyChangedSource() {
+		JacocoExecReportParser parser = new JacocoExecReportParser(Collections.singletonList(classes.toFile()));
+
+		assertTrue(parser.parse(execFile.toFile(), f -> !f.equals(SOURCE_PATH)).isEmpty());
+		assertEquals(1, parser.parse(execFile.toFile(), SOURCE_PATH::equals).size());
+	}
+
+	@Test
+	public void unsupportedClassVersion() throws IOException {
+		Path target = classes.resolve(TARGET.replace('.', '/') + ".class");
+		byte[] bytes = Files.readAllBytes(target);
+		bytes[6] = 0; // major version 99
+		bytes[7] = 99;
+		Files.write(target, bytes);
+
+		ParseException e = assertThrows(ParseException.class,
+				() -> new JacocoExecReportParser(Collections.singletonList(classes.toFile())).parse(execFile.toFile()));
+		assertTrue(e.getMessage().contains(target.toString()), e.getMessage());
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
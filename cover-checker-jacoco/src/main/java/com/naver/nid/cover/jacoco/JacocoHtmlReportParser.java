@@ -17,81 +17,115 @@ package com.naver.nid.cover.jacoco;
 
 import com.naver.nid.cover.parser.coverage.CoverageReportParser;
 import com.naver.nid.cover.parser.coverage.exception.ParseException;
-import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
-import com.naver.nid.cover.parser.coverage.model.LineCoverageReport;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-
-import net.lingala.zip4j.exception.ZipException;
-import net.lingala.zip4j.core.ZipFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
 /**
- * jacoco html report를 파싱
+ * jacoco html report를 파싱. source 페이지는 {@link JacocoHtmlSourceScanner} 로 라인 span 만 읽는다.
  */
 public class JacocoHtmlReportParser implements CoverageReportParser {
 	private static final Logger logger = LoggerFactory.getLogger(JacocoHtmlReportParser.class);
+	private static final int MAX_INITIAL_BUFFER = 1 << 20;
 
 	private final Predicate<File> reportFileChecker;
+	private final int parallelism;
 
 	public JacocoHtmlReportParser(Predicate<File> reportExt) {
-		reportFileChecker = reportExt;
+		this(reportExt, 1);
+	}
+
+	/**
+	 * @param reportExt   report 파일 여부
+	 * @param parallelism 디렉토리를 탐색하고 파싱할 thread 수, 1 이하면 현재 thread 에서 순서대로 처리한다.
+	 */
+	public JacocoHtmlReportParser(Predicate<File> reportExt, int parallelism) {
+		this.reportFileChecker = reportExt;
+		this.parallelism = parallelism;
 	}
 
 	@Override
 	public List<FileCoverageReport> parse(File reportFile) {
+		return parse(reportFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
 		logger.debug("parse {}", reportFile.getAbsolutePath());
 		if (reportFile.isFile()) {
 			if (reportFile.getName().endsWith("zip")) {
-				try {
-					File f = new File("./unzipTemp");
-					if(f.exists()) {
-						deleteDir(f);
-				  }
-					ZipFile zipFile = new ZipFile(reportFile.getAbsolutePath());
-					zipFile.extractAll("./unzipTemp");
-				} catch (ZipException e) {
-					throw new ParseException(String.format("Bad zip file: %s", reportFile.getName()), e);
-				}
-				reportFile = new File( "./unzipTemp/");
-				List<FileCoverageReport> result = parseDirectory(reportFile);
-				deleteDir(reportFile);
-				return result;
+				return parseZip(reportFile, fileFilter);
 			}
 
-			if (reportFileChecker.test(reportFile)) {
-				return Collections.singletonList(parseFile(reportFile));
-			} else {
+			if (!reportFileChecker.test(reportFile)) {
 				throw new ParseException(String.format("wrong file type %s", reportFile.getName()));
 			}
+
+			String sourcePath = toSourcePath(reportFile);
+			return fileFilter.test(sourcePath)
+					? Collections.singletonList(parseFile(reportFile, sourcePath))
+					: Collections.emptyList();
 		} else {
-			return parseDirectory(reportFile);
+			return parseDirectory(reportFile, fileFilter);
 		}
 	}
 
-	private void deleteDir(File file) {
-			File[] contents = file.listFiles();
-			if (contents != null) {
-				for (File f : contents) {
-					if (! Files.isSymbolicLink(f.toPath())) {
-						deleteDir(f);
+	/**
+	 * 압축을 풀지 않고 zip 안의 report 파일만 바로 읽는다.
+	 */
+	private List<FileCoverageReport> parseZip(File zip, Predicate<String> fileFilter) {
+		List<FileCoverageReport> reports = new ArrayList<>();
+		try (ZipFile zipFile = new ZipFile(zip)) {
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !reportFileChecker.test(new File(entry.getName()))) {
+					continue;
+				}
+
+				// 패키지 디렉토리가 없으면 소스 경로를 만들 수 없다.
+				if (entry.getName().indexOf('/') < 0 && entry.getName().indexOf('\\') < 0) {
+					logger.warn("skip {} in {}, no package directory", entry.getName(), zip.getName());
+					continue;
+				}
+
+				String sourcePath = toSourcePath(entry.getName());
+				if (fileFilter.test(sourcePath)) {
+					try (InputStream in = zipFile.getInputStream(entry)) {
+						reports.add(parseFile(readAll(in, entry.getSize()), new File(entry.getName()).getName(), sourcePath));
 					}
 				}
 			}
-			file.delete();
+		} catch (ZipException e) {
+			throw new ParseException(String.format("Bad zip file: %s", zip.getName()), e);
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+		return reports;
 	}
 
-	private List<FileCoverageReport> parseDirectory(File reportDirectory) {
+	private List<FileCoverageReport> parseDirectory(File reportDirectory, Predicate<String> fileFilter) {
+		if (parallelism > 1) {
+			return parseDirectoryInParallel(reportDirectory, fileFilter);
+		}
+
 		String dirPath = reportDirectory.getAbsolutePath();
 		List<FileCoverageReport> reports = new ArrayList<>();
 		try {
@@ -99,8 +133,13 @@ public class JacocoHtmlReportParser implements CoverageReportParser {
 				@Override
 				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
 					File currFile = file.toFile();
-					if (reportFileChecker.test(currFile)) {
-						reports.add(parseFile(currFile));
+					if (!reportFileChecker.test(currFile)) {
+						return FileVisitResult.CONTINUE;
+					}
+
+					String sourcePath = toSourcePath(currFile);
+					if (fileFilter.test(sourcePath)) {
+						reports.add(parseFile(currFile, sourcePath));
 					}
 					return FileVisitResult.CONTINUE;
 				}
@@ -112,51 +151,124 @@ public class JacocoHtmlReportParser implements CoverageReportParser {
 		return reports;
 	}
 
-	private FileCoverageReport parseFile(File file) {
+	/**
+	 * 하위 디렉토리마다 task 를 fork 해서 디렉토리 목록을 읽는 동안 다른 worker 가 파일을 파싱한다.
+	 * 결과는 lock 없이 {@link ConcurrentLinkedQueue} 에 모은다.
+	 */
+	private List<FileCoverageReport> parseDirectoryInParallel(File reportDirectory, Predicate<String> fileFilter) {
+		Queue<FileCoverageReport> reports = new ConcurrentLinkedQueue<>();
+		AtomicInteger threadNumber = new AtomicInteger();
+		ForkJoinPool workers = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("report-parser-" + threadNumber.incrementAndGet());
+			return thread;
+		}, null, false);
 		try {
-			Document doc = Jsoup.parse(file, "UTF-8");
+			workers.invoke(new DirectoryTask(reportDirectory.getAbsoluteFile().toPath(), fileFilter, reports));
+		} finally {
+			workers.shutdownNow();
+		}
+		return new ArrayList<>(reports);
+	}
 
+	private class DirectoryTask extends RecursiveAction {
+		private final Path directory;
+		private final Predicate<String> fileFilter;
+		private final Queue<FileCoverageReport> reports;
 
-			FileCoverageReport fileReport = new FileCoverageReport();
+		private DirectoryTask(Path directory, Predicate<String> fileFilter, Queue<FileCoverageReport> reports) {
+			this.directory = directory;
+			this.fileFilter = fileFilter;
+			this.reports = reports;
+		}
 
-			String filePath = file.getCanonicalPath();
-			logger.debug("parse {}", filePath);
-			String[] split;
-			if (filePath.contains("/")) {
-				split = filePath.split("/");
-			} else {
-				split = filePath.split("\\\\");
+		@Override
+		protected void compute() {
+			List<DirectoryTask> subDirectories = new ArrayList<>();
+			List<Path> files = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+				for (Path entry : entries) {
+					// walkFileTree 와 같이 symbolic link 디렉토리는 따라가지 않는다.
+					if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+						DirectoryTask task = new DirectoryTask(entry, fileFilter, reports);
+						task.fork();
+						subDirectories.add(task);
+					} else {
+						files.add(entry);
+					}
+				}
+			} catch (IOException e) {
+				throw new ParseException(e);
+			}
+
+			for (Path file : files) {
+				File currFile = file.toFile();
+				if (!reportFileChecker.test(currFile)) {
+					continue;
+				}
+
+				String sourcePath = toSourcePath(currFile);
+				if (fileFilter.test(sourcePath)) {
+					reports.add(parseFile(currFile, sourcePath));
+				}
 			}
-			String sourcePath = split[split.length - 2].replace(".", "/") + "/" + split[split.length - 1].replace(".html", "");
-			fileReport.setFileName(sourcePath);
-			fileReport.setType(file.getName().split("\\.")[1]);
-
-			List<LineCoverageReport> lineCoverageReports = doc.select(".linenums span").stream()
-					.flatMap(e -> e.getAllElements().stream())
-					.peek(e -> logger.debug("curr elements {}", e.wholeText()))
-					.map(e -> {
-						LineCoverageReport lineCoverageReport = new LineCoverageReport();
-						lineCoverageReport.setLineNum(Integer.parseInt(e.id().substring(1))); // L$(lineNum)
-						lineCoverageReport.setLineContent(e.text());
-						lineCoverageReport.setStatus(classNamesToStatus(e.classNames()));
-
-						return lineCoverageReport;
-					}).sorted(Comparator.comparingInt(LineCoverageReport::getLineNum))
-					.collect(Collectors.toList());
-
-			fileReport.setLineCoverageReportList(lineCoverageReports);
-
-			return fileReport;
+
+			for (DirectoryTask task : subDirectories) {
+				task.join();
+			}
+		}
+	}
+
+	/**
+	 * report 파일 경로로 원본 소스 경로를 만든다.
+	 * <p>
+	 * ex) html/com.naver.nid.cover/Test.java.html -> com/naver/nid/cover/Test.java
+	 */
+	private String toSourcePath(File file) {
+		try {
+			return toSourcePath(file.getCanonicalPath());
 		} catch (IOException e) {
 			throw new ParseException("error on file read", e);
 		}
 	}
 
-	private CoverageStatus classNamesToStatus(Set<String> className) {
-		if (className.contains("fc")) return CoverageStatus.COVERED;
-		if (className.contains("nc")) return CoverageStatus.UNCOVERED;
-		if (className.contains("pc")) return CoverageStatus.CONDITION;
+	private String toSourcePath(String filePath) {
+		String[] split;
+		if (filePath.contains("/")) {
+			split = filePath.split("/");
+		} else {
+			split = filePath.split("\\\\");
+		}
+		return split[split.length - 2].replace(".", "/") + "/" + split[split.length - 1].replace(".html", "");
+	}
+
+	private FileCoverageReport parseFile(File file, String sourcePath) {
+		try {
+			return parseFile(Files.readAllBytes(file.toPath()), file.getName(), sourcePath);
+		} catch (IOException e) {
+			throw new ParseException("error on file read", e);
+		}
+	}
 
-		return CoverageStatus.NOTHING;
+	private FileCoverageReport parseFile(byte[] html, String reportName, String sourcePath) {
+		logger.debug("parse {}", sourcePath);
+		FileCoverageReport fileReport = new FileCoverageReport();
+		fileReport.setFileName(sourcePath);
+		fileReport.setType(reportName.split("\\.")[1]);
+		fileReport.setLineCoverage(JacocoHtmlSourceScanner.scan(html));
+		return fileReport;
+	}
+
+	/**
+	 * @param sizeHint zip entry 에 기록된 크기, 믿을 수 없으므로 처음 buffer 크기로만 제한해서 사용한다.
+	 */
+	private static byte[] readAll(InputStream in, long sizeHint) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(sizeHint > 0 ? (int) Math.min(sizeHint, MAX_INITIAL_BUFFER) : 8192);
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
 	}
 }
@@ -0,0 +1,201 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.jacoco;
+
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>jacoco html source 페이지에서 {@code <pre class="... linenums">} 안의 span 만 byte 단위로 한번 훑는다.
+ * DOM 을 만들지 않고 span 의 id(L라인번호)와 class(fc, nc, pc)만 읽는다.</p>
+ *
+ * <p>Single pass scanner for the line spans of a jacoco .java.html page.</p>
+ */
+final class JacocoHtmlSourceScanner {
+	private static final byte[] PRE = ascii("<pre");
+	private static final byte[] PRE_END = ascii("</pre");
+	private static final byte[] SPAN = ascii("<span");
+	private static final byte[] LINENUMS = ascii("linenums");
+	private static final byte[] CLASS = ascii("class");
+	private static final byte[] ID = ascii("id");
+	private static final byte[] FULLY_COVERED = ascii("fc");
+	private static final byte[] NOT_COVERED = ascii("nc");
+	private static final byte[] PARTLY_COVERED = ascii("pc");
+
+	private final byte[] html;
+	private final int length;
+
+	// 마지막으로 읽은 tag 의 class, id 값 위치, 없으면 -1
+	private int classStart;
+	private int classEnd;
+	private int idStart;
+	private int idEnd;
+
+	private JacocoHtmlSourceScanner(byte[] html) {
+		this.html = html;
+		this.length = html.length;
+	}
+
+	static LineCoverage scan(byte[] html) {
+		return new JacocoHtmlSourceScanner(html).scan();
+	}
+
+	private LineCoverage scan() {
+		LineCoverage.Builder lineCoverage = LineCoverage.builder();
+		boolean inSource = false;
+		int i = 0;
+		while ((i = indexOf((byte) '<', i)) >= 0) {
+			if (!inSource) {
+				if (isTag(i, PRE)) {
+					i = readTag(i + PRE.length);
+					inSource = classStart >= 0 && hasClass(LINENUMS);
+				} else {
+					i++;
+				}
+			} else if (isTag(i, SPAN)) {
+				i = readTag(i + SPAN.length);
+				int lineNum = lineNum();
+				if (lineNum > 0) {
+					lineCoverage.add(lineNum, status());
+				}
+			} else if (startsWith(i, PRE_END)) {
+				inSource = false;
+				i += PRE_END.length;
+			} else {
+				i++;
+			}
+		}
+		return lineCoverage.build();
+	}
+
+	/**
+	 * tag 이름 뒤의 attribute 에서 class 와 id 값의 위치를 찾는다.
+	 *
+	 * @return tag 다음 위치
+	 */
+	private int readTag(int i) {
+		classStart = -1;
+		idStart = -1;
+		while (i < length) {
+			byte b = html[i];
+			if (b == '>') return i + 1;
+			if (isWhitespace(b) || b == '/') {
+				i++;
+				continue;
+			}
+
+			int nameStart = i;
+			while (i < length && html[i] != '=' && html[i] != '>' && !isWhitespace(html[i])) i++;
+			int nameEnd = i;
+			while (i < length && isWhitespace(html[i])) i++;
+			if (i >= length || html[i] != '=') continue; // 값이 없는 attribute
+
+			i++;
+			while (i < length && isWhitespace(html[i])) i++;
+			if (i >= length) break;
+
+			int valueStart;
+			int valueEnd;
+			byte quote = html[i];
+			if (quote == '"' || quote == '\'') {
+				valueStart = ++i;
+				while (i < length && html[i] != quote) i++;
+				valueEnd = i++;
+			} else {
+				valueStart = i;
+				while (i < length && html[i] != '>' && !isWhitespace(html[i])) i++;
+				valueEnd = i;
+			}
+
+			if (equals(nameStart, nameEnd, CLASS)) {
+				classStart = valueStart;
+				classEnd = valueEnd;
+			} else if (equals(nameStart, nameEnd, ID)) {
+				idStart = valueStart;
+				idEnd = valueEnd;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * @return id 의 L 뒤의 라인 번호, 라인 id 가 아니면 -1
+	 */
+	private int lineNum() {
+		if (idStart < 0 || idEnd - idStart < 2 || html[idStart] != 'L') return -1;
+
+		int lineNum = 0;
+		for (int i = idStart + 1; i < idEnd; i++) {
+			int digit = html[i] - '0';
+			if (digit < 0 || digit > 9) return -1;
+			lineNum = lineNum * 10 + digit;
+		}
+		return lineNum;
+	}
+
+	private CoverageStatus status() {
+		if (classStart < 0) return CoverageStatus.NOTHING;
+		if (hasClass(FULLY_COVERED)) return CoverageStatus.COVERED;
+		if (hasClass(NOT_COVERED)) return CoverageStatus.UNCOVERED;
+		if (hasClass(PARTLY_COVERED)) return CoverageStatus.CONDITION;
+		return CoverageStatus.NOTHING;
+	}
+
+	private boolean hasClass(byte[] name) {
+		for (int i = classStart; i + name.length <= classEnd; i++) {
+			if ((i == classStart || isWhitespace(html[i - 1]))
+					&& (i + name.length == classEnd || isWhitespace(html[i + name.length]))
+					&& startsWith(i, name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isTag(int i, byte[] tag) {
+		int end = i + tag.length;
+		return startsWith(i, tag) && end < length && (isWhitespace(html[end]) || html[end] == '>');
+	}
+
+	private boolean startsWith(int from, byte[] prefix) {
+		if (from + prefix.length > length) return false;
+		for (int i = 0; i < prefix.length; i++) {
+			if (html[from + i] != prefix[i]) return false;
+		}
+		return true;
+	}
+
+	private boolean equals(int from, int to, byte[] name) {
+		return to - from == name.length && startsWith(from, name);
+	}
+
+	private int indexOf(byte b, int from) {
+		for (int i = from; i < length; i++) {
+			if (html[i] == b) return i;
+		}
+		return -1;
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+	}
+
+	private static byte[] ascii(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+}
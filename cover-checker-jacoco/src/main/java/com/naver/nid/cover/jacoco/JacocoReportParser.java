@@ -15,30 +15,64 @@
  */
 package com.naver.nid.cover.jacoco;
 
+import com.naver.nid.cover.parser.CompressedInputs;
 import com.naver.nid.cover.parser.coverage.CoverageReportParser;
 import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
+import com.naver.nid.cover.parser.coverage.exception.ParseException;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * 파일 타입에 따라 내부 파서를 분기해서 사용
  */
 @Slf4j
 public class JacocoReportParser implements CoverageReportParser {
+	private static final CoverageReportParser XML_PARSER = new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new);
+
+	private final int parallelism;
+
+	public JacocoReportParser() {
+		this(1);
+	}
+
+	/**
+	 * @param parallelism html report 디렉토리를 파싱할 thread 수
+	 */
+	public JacocoReportParser(int parallelism) {
+		this.parallelism = parallelism;
+	}
 
 	@Override
 	public List<FileCoverageReport> parse(File reportFile) {
+		return parse(reportFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
 		String fileName = reportFile.getName();
 		String ext = fileName.substring(fileName.lastIndexOf('.') + 1);
-		if (!reportFile.isDirectory() && "xml".equalsIgnoreCase(ext)) {
+		if (!reportFile.isDirectory() && ("xml".equalsIgnoreCase(ext) || isGzip(reportFile))) {
 			log.debug("parse by xml report {}", fileName);
-			return new XmlCoverageReportParser(new JacocoXmlCoverageReportHandler()).parse(reportFile);
+			return XML_PARSER.parse(reportFile, fileFilter);
 		} else {
 			log.debug("parse by html report {}", fileName);
-			return new JacocoHtmlReportParser(f -> f.getName().endsWith(".java.html")).parse(reportFile);
+			return new JacocoHtmlReportParser(f -> f.getName().endsWith(".java.html"), parallelism).parse(reportFile, fileFilter);
+		}
+	}
+
+	/**
+	 * html report 는 디렉토리나 zip 이므로 gzip 파일은 압축된 xml report 로 본다.
+	 */
+	private boolean isGzip(File reportFile) {
+		try {
+			return CompressedInputs.isGzip(reportFile);
+		} catch (IOException e) {
+			throw new ParseException(e);
 		}
 	}
 }
@@ -18,7 +18,7 @@ package com.naver.nid.cover.jacoco;
 import com.naver.nid.cover.parser.coverage.CoverageReportXmlHandler;
 import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
-import com.naver.nid.cover.parser.coverage.model.LineCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
 import lombok.extern.slf4j.Slf4j;
 import org.xml.sax.Attributes;
 
@@ -33,7 +33,7 @@ public class JacocoXmlCoverageReportHandler extends CoverageReportXmlHandler {
 	private String pkgPath;
 	private Map<String, FileCoverageReport> reportMap = new HashMap<>();
 	private FileCoverageReport currentFile;
-	private List<LineCoverageReport> lineReports;
+	private LineCoverage.Builder lineReports;
 
 	@Override
 	public void startElement(String uri, String localName, String qName, Attributes attributes) {
@@ -44,20 +44,26 @@ public class JacocoXmlCoverageReportHandler extends CoverageReportXmlHandler {
 				log.debug("found new package {}", pkgPath);
 				break;
 			case "sourcefile":
-				currentFile = new FileCoverageReport();
 				String name = attributes.getValue("name");
-				currentFile.setFileName(pkgPath + "/" + name);
+				String fileName = pkgPath + "/" + name;
+				if (!isTargetFile(fileName)) {
+					log.debug("skip file {}", fileName);
+					break;
+				}
+				currentFile = new FileCoverageReport();
+				currentFile.setFileName(fileName);
 				currentFile.setType(name.substring(name.indexOf('.') + 1));
 				log.debug("found new file {}", currentFile.getFileName());
-				lineReports = new ArrayList<>();
+				lineReports = LineCoverage.builder();
 				break;
 			case "line":
-				LineCoverageReport lineReport = new LineCoverageReport();
-				lineReport.setLineNum(Integer.parseInt(attributes.getValue("nr")));
-				lineReport.setStatus(getLineStatus(attributes));
-				lineReport.setLineContent("");
-				log.debug("found new line {}[{}]", lineReport.getLineNum(), lineReport.getStatus());
-				lineReports.add(lineReport);
+				if (lineReports == null) break; // 대상이 아닌 파일
+				int lineNum = Integer.parseInt(attributes.getValue("nr"));
+				CoverageStatus status = getLineStatus(attributes);
+				if (log.isDebugEnabled()) {
+					log.debug("found new line {}[{}]", lineNum, status);
+				}
+				lineReports.add(lineNum, status);
 				break;
 			default:
 				// ignore other tags
@@ -68,10 +74,12 @@ public class JacocoXmlCoverageReportHandler extends CoverageReportXmlHandler {
 	@Override
 	public void endElement(String uri, String localName, String qName) {
 		if (localName.equals("")) localName = qName;
-		if (localName.equals("sourcefile")) {
-			currentFile.setLineCoverageReportList(lineReports);
+		if (localName.equals("sourcefile") && currentFile != null) {
+			currentFile.setLineCoverage(lineReports.build());
 			reportMap.put(currentFile.getFileName(), currentFile);
 			log.debug("save file map {}", currentFile.getFileName());
+			currentFile = null;
+			lineReports = null;
 		}
 	}
 
@@ -0,0 +1,451 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.jacoco;
+
+import com.naver.nid.cover.parser.CompressedInputs;
+import com.naver.nid.cover.parser.coverage.CoverageReportParser;
+import com.naver.nid.cover.parser.coverage.exception.ParseException;
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * <p>jacoco xml report 를 SAX 없이 byte 단위로 읽는다. 결과는 {@link JacocoXmlCoverageReportHandler} 와 같다.</p>
+ * <ul>
+ *     <li>class 와 대상이 아닌 sourcefile 은 닫는 tag 까지 내용을 보지 않고 건너뛴다.</li>
+ *     <li>attribute 의 순서는 element 종류마다 처음 한번 찾고, 이후에는 같은 위치의 이름만 비교한다.</li>
+ *     <li>line 의 숫자는 String 을 만들지 않고 byte 에서 바로 읽는다.</li>
+ * </ul>
+ *
+ * <p>Hand-rolled pull parser for jacoco xml report. DTD, namespace and encoding other than UTF-8 are not supported.</p>
+ */
+@Slf4j
+public class JacocoXmlPullParser implements CoverageReportParser {
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile) {
+		return parse(reportFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
+		log.debug("parse {}", reportFile.getName());
+		try (InputStream in = CompressedInputs.open(reportFile)) {
+			return parse(in, fileFilter);
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+
+	/**
+	 * root element 가 없어도 되므로 report 의 일부(package 목록)만 읽을 수 있다.
+	 */
+	List<FileCoverageReport> parse(InputStream in, Predicate<String> fileFilter) throws IOException {
+		return new Reader(in, fileFilter).read();
+	}
+
+	/**
+	 * report 하나를 읽는 상태. Thread non-safe
+	 */
+	private static final class Reader {
+		private static final int BUFFER_SIZE = 64 * 1024;
+
+		private static final byte[] PACKAGE = ascii("package");
+		private static final byte[] SOURCEFILE = ascii("sourcefile");
+		private static final byte[] LINE = ascii("line");
+		private static final byte[] CLASS = ascii("class");
+		private static final byte[] END_CLASS = ascii("</class>");
+		private static final byte[] END_SOURCEFILE = ascii("</sourcefile>");
+		private static final byte[] END_COMMENT = ascii("-->");
+		private static final byte[] END_PI = ascii("?>");
+		private static final byte[] COMMENT = ascii("!--");
+
+		private final InputStream in;
+		private final Predicate<String> fileFilter;
+
+		private byte[] buf = new byte[BUFFER_SIZE];
+		private int pos;
+		private int limit;
+
+		private final AttributeLayout packageAttributes = new AttributeLayout("name");
+		private final AttributeLayout sourcefileAttributes = new AttributeLayout("name");
+		private final AttributeLayout lineAttributes = new AttributeLayout("nr", "mi", "mb", "cb");
+
+		private final Map<String, FileCoverageReport> reportMap = new HashMap<>();
+		private String pkgPath;
+		private FileCoverageReport currentFile;
+		private LineCoverage.Builder lineReports;
+
+		Reader(InputStream in, Predicate<String> fileFilter) {
+			this.in = in;
+			this.fileFilter = fileFilter;
+		}
+
+		List<FileCoverageReport> read() throws IOException {
+			while (nextTag()) {
+				if (!ensure(1)) throw new ParseException("unexpected end of report");
+
+				byte first = buf[pos];
+				if (first == '?') {
+					skipPast(END_PI);
+				} else if (first == '!' && ensure(COMMENT.length) && matches(pos, COMMENT)) {
+					skipPast(END_COMMENT);
+				} else if (first == '/') {
+					pos++;
+					endElement(tagEnd());
+				} else if (first == '!') {
+					pos = tagEnd() + 1; // DOCTYPE
+				} else {
+					startElement(tagEnd());
+				}
+			}
+			return new ArrayList<>(reportMap.values());
+		}
+
+		/**
+		 * @param tagEnd 현재 tag 의 '>' 위치, pos 는 element 이름의 시작
+		 */
+		private void startElement(int tagEnd) throws IOException {
+			int nameEnd = nameEnd(pos, tagEnd);
+			boolean empty = buf[tagEnd - 1] == '/';
+
+			if (isName(pos, nameEnd, LINE)) {
+				if (lineReports != null) { // 대상이 아닌 파일은 건너뛰므로 항상 대상 파일의 라인
+					lineAttributes.read(nameEnd, tagEnd);
+					lineReports.add(lineAttributes.intValue(0), lineStatus());
+				}
+			} else if (isName(pos, nameEnd, CLASS)) {
+				pos = tagEnd + 1;
+				if (!empty) skipPast(END_CLASS);
+				return;
+			} else if (isName(pos, nameEnd, SOURCEFILE)) {
+				sourcefileAttributes.read(nameEnd, tagEnd);
+				String name = sourcefileAttributes.textValue(0);
+				String fileName = pkgPath + "/" + name;
+				pos = tagEnd + 1;
+				if (!fileFilter.test(fileName)) {
+					log.debug("skip file {}", fileName);
+					if (!empty) skipPast(END_SOURCEFILE);
+					return;
+				}
+				currentFile = new FileCoverageReport();
+				currentFile.setFileName(fileName);
+				currentFile.setType(name.substring(name.indexOf('.') + 1));
+				log.debug("found new file {}", fileName);
+				lineReports = LineCoverage.builder();
+				if (empty) endSourcefile();
+				return;
+			} else if (isName(pos, nameEnd, PACKAGE)) {
+				packageAttributes.read(nameEnd, tagEnd);
+				pkgPath = packageAttributes.textValue(0);
+				log.debug("found new package {}", pkgPath);
+			}
+			pos = tagEnd + 1;
+		}
+
+		private void endElement(int tagEnd) {
+			if (isName(pos, nameEnd(pos, tagEnd), SOURCEFILE) && currentFile != null) {
+				endSourcefile();
+			}
+			pos = tagEnd + 1;
+		}
+
+		private void endSourcefile() {
+			currentFile.setLineCoverage(lineReports.build());
+			reportMap.put(currentFile.getFileName(), currentFile);
+			currentFile = null;
+			lineReports = null;
+		}
+
+		private CoverageStatus lineStatus() {
+			int missInstruction = lineAttributes.intValue(1);
+			int missBranch = lineAttributes.intValue(2);
+			int coverBranch = lineAttributes.intValue(3);
+
+			if (missInstruction == 0 && missBranch == 0) {
+				return CoverageStatus.COVERED;
+			} else if (missBranch > 0 && coverBranch > 0) {
+				return CoverageStatus.CONDITION;
+			}
+			return CoverageStatus.UNCOVERED;
+		}
+
+		/**
+		 * 다음 '<' 다음 위치로 이동한다.
+		 *
+		 * @return tag 가 남아 있는지 여부
+		 */
+		private boolean nextTag() throws IOException {
+			while (true) {
+				for (; pos < limit; pos++) {
+					if (buf[pos] == '<') {
+						pos++;
+						return true;
+					}
+				}
+				if (!fill()) return false;
+			}
+		}
+
+		/**
+		 * 따옴표 안의 '>' 는 무시하고 현재 tag 가 끝나는 위치를 찾는다. tag 전체가 buffer 에 들어오도록 채운다.
+		 */
+		private int tagEnd() throws IOException {
+			int i = pos;
+			byte quote = 0;
+			while (true) {
+				if (i >= limit) {
+					int offset = i - pos;
+					if (!fill()) throw new ParseException("unexpected end of report");
+					i = pos + offset;
+					continue;
+				}
+				byte b = buf[i];
+				if (quote != 0) {
+					if (b == quote) quote = 0;
+				} else if (b == '"' || b == '\'') {
+					quote = b;
+				} else if (b == '>') {
+					return i;
+				}
+				i++;
+			}
+		}
+
+		private void skipPast(byte[] pattern) throws IOException {
+			while (true) {
+				int last = limit - pattern.length;
+				for (int i = pos; i <= last; i++) {
+					if (buf[i] == pattern[0] && matches(i, pattern)) {
+						pos = i + pattern.length;
+						return;
+					}
+				}
+				pos = Math.max(pos, last + 1);
+				if (!fill()) throw new ParseException("unexpected end of report, expect " + new String(pattern, StandardCharsets.US_ASCII));
+			}
+		}
+
+		private boolean ensure(int length) throws IOException {
+			while (limit - pos < length) {
+				if (!fill()) return false;
+			}
+			return true;
+		}
+
+		/**
+		 * 읽지 않은 내용을 앞으로 옮기고 뒤를 채운다. 가득 찬 경우 buffer 를 늘린다.
+		 *
+		 * @return 더 읽은 내용이 있는지 여부
+		 */
+		private boolean fill() throws IOException {
+			if (pos > 0) {
+				System.arraycopy(buf, pos, buf, 0, limit - pos);
+				limit -= pos;
+				pos = 0;
+			} else if (limit == buf.length) {
+				buf = Arrays.copyOf(buf, buf.length * 2);
+			}
+
+			int read = in.read(buf, limit, buf.length - limit);
+			if (read < 0) return false;
+			limit += read;
+			return true;
+		}
+
+		private int nameEnd(int from, int tagEnd) {
+			int i = from;
+			while (i < tagEnd && !isWhitespace(buf[i]) && buf[i] != '/') i++;
+			return i;
+		}
+
+		private boolean isName(int from, int to, byte[] name) {
+			return to - from == name.length && matches(from, name);
+		}
+
+		private boolean matches(int from, byte[] pattern) {
+			for (int i = 0; i < pattern.length; i++) {
+				if (buf[from + i] != pattern[i]) return false;
+			}
+			return true;
+		}
+
+		private static boolean isWhitespace(byte b) {
+			return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+		}
+
+		/**
+		 * element 종류 하나가 사용하는 attribute 의 위치. 처음 본 순서를 기억하고 같은 순서라면 이름을 다시 찾지 않는다.
+		 */
+		private final class AttributeLayout {
+			private final byte[][] names;
+			private final int[] valueStart;
+			private final int[] valueEnd;
+
+			// n 번째 attribute 의 이름과 names 에서의 위치, 사용하지 않는 attribute 는 -1
+			private byte[][] seenNames = new byte[0][];
+			private int[] seenKeys = new int[0];
+
+			AttributeLayout(String... names) {
+				this.names = new byte[names.length][];
+				for (int i = 0; i < names.length; i++) {
+					this.names[i] = ascii(names[i]);
+				}
+				this.valueStart = new int[names.length];
+				this.valueEnd = new int[names.length];
+			}
+
+			/**
+			 * [from, tagEnd) 의 attribute 에서 사용하는 값의 위치를 찾는다.
+			 */
+			void read(int from, int tagEnd) {
+				Arrays.fill(valueStart, -1);
+				int i = from;
+				for (int ordinal = 0; ; ordinal++) {
+					while (i < tagEnd && isWhitespace(buf[i])) i++;
+					if (i >= tagEnd || buf[i] == '/') return;
+
+					int nameStart = i;
+					while (i < tagEnd && buf[i] != '=' && !isWhitespace(buf[i])) i++;
+					int nameEnd = i;
+					while (i < tagEnd && buf[i] != '"' && buf[i] != '\'') i++;
+					if (i >= tagEnd) throw new ParseException("broken attribute " + text(nameStart, tagEnd));
+
+					byte quote = buf[i++];
+					int start = i;
+					while (buf[i] != quote) i++;
+
+					int key = keyOf(ordinal, nameStart, nameEnd);
+					if (key >= 0) {
+						valueStart[key] = start;
+						valueEnd[key] = i;
+					}
+					i++;
+				}
+			}
+
+			private int keyOf(int ordinal, int nameStart, int nameEnd) {
+				if (ordinal < seenNames.length && isName(nameStart, nameEnd, seenNames[ordinal])) {
+					return seenKeys[ordinal];
+				}
+
+				int key = -1;
+				for (int k = 0; k < names.length; k++) {
+					if (isName(nameStart, nameEnd, names[k])) {
+						key = k;
+						break;
+					}
+				}
+
+				if (ordinal >= seenNames.length) {
+					seenNames = Arrays.copyOf(seenNames, ordinal + 1);
+					seenKeys = Arrays.copyOf(seenKeys, ordinal + 1);
+				}
+				seenNames[ordinal] = Arrays.copyOfRange(buf, nameStart, nameEnd);
+				seenKeys[ordinal] = key;
+				return key;
+			}
+
+			int intValue(int key) {
+				int start = start(key);
+				int end = valueEnd[key];
+				if (start == end) throw new ParseException("empty attribute " + new String(names[key], StandardCharsets.US_ASCII));
+
+				int value = 0;
+				for (int i = start; i < end; i++) {
+					int digit = buf[i] - '0';
+					if (digit < 0 || digit > 9) throw new ParseException("not a number " + text(start, end));
+					value = value * 10 + digit;
+				}
+				return value;
+			}
+
+			String textValue(int key) {
+				return text(start(key), valueEnd[key]);
+			}
+
+			private int start(int key) {
+				if (valueStart[key] < 0) {
+					throw new ParseException("missing attribute " + new String(names[key], StandardCharsets.US_ASCII));
+				}
+				return valueStart[key];
+			}
+		}
+
+		private String text(int from, int to) {
+			String s = new String(buf, from, to - from, StandardCharsets.UTF_8);
+			return s.indexOf('&') < 0 ? s : unescape(s);
+		}
+
+		private static String unescape(String s) {
+			StringBuilder sb = new StringBuilder(s.length());
+			int i = 0;
+			while (i < s.length()) {
+				char c = s.charAt(i);
+				int end = c == '&' ? s.indexOf(';', i) : -1;
+				if (end < 0) {
+					sb.append(c);
+					i++;
+					continue;
+				}
+
+				String entity = s.substring(i + 1, end);
+				switch (entity) {
+					case "lt":
+						sb.append('<');
+						break;
+					case "gt":
+						sb.append('>');
+						break;
+					case "amp":
+						sb.append('&');
+						break;
+					case "quot":
+						sb.append('"');
+						break;
+					case "apos":
+						sb.append('\'');
+						break;
+					default:
+						if (!entity.startsWith("#")) throw new ParseException("unknown entity &" + entity + ";");
+						int codePoint = entity.startsWith("#x")
+								? Integer.parseInt(entity.substring(2), 16)
+								: Integer.parseInt(entity.substring(1));
+						sb.appendCodePoint(codePoint);
+						break;
+				}
+				i = end + 1;
+			}
+			return sb.toString();
+		}
+
+		private static byte[] ascii(String s) {
+			return s.getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+}
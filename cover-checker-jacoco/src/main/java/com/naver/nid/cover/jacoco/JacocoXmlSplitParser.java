@@ -0,0 +1,204 @@
+/*
+	Copyright 2018 NAVER Corp.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+		http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.naver.nid.cover.jacoco;
+
+import com.naver.nid.cover.parser.CompressedInputs;
+import com.naver.nid.cover.parser.coverage.CoverageReportParser;
+import com.naver.nid.cover.parser.coverage.exception.ParseException;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * <p>하나의 큰 jacoco xml report 를 package element 단위로 나누어 여러 thread 에서 동시에 읽는다.
+ * package 의 시작 위치는 memory map 한 파일에서 byte 로 찾고, 나눈 구간은 각각 {@link JacocoXmlPullParser} 로 읽는다.</p>
+ *
+ * <p>Splits a single aggregate jacoco xml report on package boundaries and parses the chunks concurrently.
+ * A gzip compressed report can not be split and is parsed by one thread.</p>
+ */
+@Slf4j
+public class JacocoXmlSplitParser implements CoverageReportParser {
+	private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+	private static final int CHUNKS_PER_THREAD = 4; // package 크기가 달라도 thread 가 쉬지 않도록 더 잘게 나눈다.
+	private static final byte[] PACKAGE = "<package ".getBytes(StandardCharsets.US_ASCII);
+
+	private final int parallelism;
+	private final int windowSize;
+	private final JacocoXmlPullParser pullParser = new JacocoXmlPullParser();
+
+	public JacocoXmlSplitParser(int parallelism) {
+		this(parallelism, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize package 를 찾을 때 한번에 map 할 크기
+	 */
+	JacocoXmlSplitParser(int parallelism, int windowSize) {
+		this.parallelism = parallelism;
+		this.windowSize = windowSize;
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile) {
+		return parse(reportFile, f -> true);
+	}
+
+	@Override
+	public List<FileCoverageReport> parse(File reportFile, Predicate<String> fileFilter) {
+		try {
+			if (parallelism <= 1 || CompressedInputs.isGzip(reportFile)) {
+				return pullParser.parse(reportFile, fileFilter);
+			}
+
+			try (FileChannel channel = FileChannel.open(reportFile.toPath(), StandardOpenOption.READ)) {
+				List<long[]> chunks = split(channel);
+				log.debug("parse {} by {} chunks", reportFile.getName(), chunks.size());
+				return parseChunks(channel, chunks, fileFilter);
+			}
+		} catch (IOException e) {
+			throw new ParseException(e);
+		}
+	}
+
+	/**
+	 * package 의 시작 위치에서 파일을 비슷한 크기의 구간으로 나눈다. 첫 package 이전의 내용은 읽지 않는다.
+	 *
+	 * @return [시작, 끝) 위치 목록
+	 */
+	List<long[]> split(FileChannel channel) throws IOException {
+		long size = channel.size();
+		long chunkSize = Math.max(1, size / ((long) parallelism * CHUNKS_PER_THREAD));
+
+		List<long[]> chunks = new ArrayList<>();
+		long chunkStart = -1;
+		for (long windowStart = 0; windowStart < size; windowStart += windowSize) {
+			// window 경계에 걸친 "<package " 도 찾도록 pattern 길이만큼 더 map 한다.
+			long mapSize = Math.min(size - windowStart, (long) windowSize + PACKAGE.length - 1);
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, mapSize);
+			long last = Math.min(windowSize, mapSize - PACKAGE.length + 1);
+			for (int i = 0; i < last; i++) {
+				if (window.get(i) != '<' || !isPackage(window, i)) continue;
+
+				long packageStart = windowStart + i;
+				if (chunkStart < 0) {
+					chunkStart = packageStart;
+				} else if (packageStart - chunkStart >= chunkSize) {
+					chunks.add(new long[]{chunkStart, packageStart});
+					chunkStart = packageStart;
+				}
+			}
+		}
+		if (chunkStart >= 0) chunks.add(new long[]{chunkStart, size});
+		return chunks;
+	}
+
+	private static boolean isPackage(ByteBuffer window, int from) {
+		for (int i = 1; i < PACKAGE.length; i++) {
+			if (window.get(from + i) != PACKAGE[i]) return false;
+		}
+		return true;
+	}
+
+	private List<FileCoverageReport> parseChunks(FileChannel channel, List<long[]> chunks, Predicate<String> fileFilter) {
+		if (chunks.isEmpty()) return Collections.emptyList();
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, chunks.size()), r -> {
+			Thread thread = new Thread(r, "report-parser-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<List<FileCoverageReport>>> parsed = chunks.stream()
+					.map(c -> workers.submit(() -> pullParser.parse(new ChunkInputStream(channel, c[0], c[1]), fileFilter)))
+					.collect(Collectors.toList());
+
+			// SAX handler 와 같이 HashMap 에 모으고, 같은 파일이 여러 번 나오면 나중 것을 사용한다.
+			Map<String, FileCoverageReport> reports = new HashMap<>();
+			for (Future<List<FileCoverageReport>> chunk : parsed) {
+				for (FileCoverageReport report : get(chunk)) {
+					reports.put(report.getFileName(), report);
+				}
+			}
+			return new ArrayList<>(reports.values());
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	private static <T> T get(Future<T> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ParseException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw new ParseException(e.getCause());
+		}
+	}
+
+	/**
+	 * 파일의 [start, end) 구간을 읽는다. 위치를 지정해 읽으므로 여러 thread 가 같은 channel 을 공유할 수 있다.
+	 */
+	private static final class ChunkInputStream extends InputStream {
+		private final FileChannel channel;
+		private final long end;
+		private long position;
+
+		ChunkInputStream(FileChannel channel, long start, long end) {
+			this.channel = channel;
+			this.position = start;
+			this.end = end;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (position >= end) return -1;
+
+			int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+			if (read < 0) return -1;
+			position += read;
+			return read;
+		}
+	}
+}
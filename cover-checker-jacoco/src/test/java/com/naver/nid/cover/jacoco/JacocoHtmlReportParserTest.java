@@ -6,9 +6,18 @@ import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Slf4j
 class JacocoHtmlReportParserTest {
@@ -29,7 +38,7 @@ class JacocoHtmlReportParserTest {
 		FileCoverageReport fileCoverageReport = parse.get(0);
 		Assertions.assertEquals("com/naver/nid/cover/github/GithubCommentManager.java", fileCoverageReport.getFileName());
 		Assertions.assertEquals("java", fileCoverageReport.getType());
-		Assertions.assertEquals(CoverageStatus.COVERED, fileCoverageReport.getLineCoverageReportList().stream().filter(l -> l.getLineNum() == 21).findFirst().orElseThrow(AssertionError::new).getStatus());
+		Assertions.assertEquals(CoverageStatus.COVERED, fileCoverageReport.getLineCoverage().getStatus(21));
 	}
 
 	@Test
@@ -48,6 +57,55 @@ class JacocoHtmlReportParserTest {
 		FileCoverageReport fileCoverageReport = reports.get(0);
 		Assertions.assertEquals("com/naver/nid/cover/github/GithubCommentManager.java", fileCoverageReport.getFileName());
 		Assertions.assertEquals("java", fileCoverageReport.getType());
-		Assertions.assertEquals(CoverageStatus.COVERED, fileCoverageReport.getLineCoverageReportList().stream().filter(l -> l.getLineNum() == 21).findFirst().orElseThrow(AssertionError::new).getStatus());
+		Assertions.assertEquals(CoverageStatus.COVERED, fileCoverageReport.getLineCoverage().getStatus(21));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void zipParsing(@TempDir Path dir) throws Exception {
+		Path html = Paths.get(getClass().getClassLoader().getResource("reports/html").toURI());
+		Path zip = dir.resolve("coverage.zip");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip));
+			 Stream<Path> files = Files.walk(html)) {
+			for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+				out.putNextEntry(new ZipEntry(html.getParent().relativize(file).toString().replace('\\', '/')));
+				Files.copy(file, out);
+				out.closeEntry();
+			}
+			// 패키지 디렉토리가 없는 report 는 건너뛴다.
+			out.putNextEntry(new ZipEntry("Root.java.html"));
+			Files.copy(html.resolve("com.naver.nid.cover.github/GithubCommentManager.java.html"), out);
+			out.closeEntry();
+		}
+
+		JacocoHtmlReportParser parser = new JacocoHtmlReportParser(file -> file.getName().endsWith(".java.html"));
+		List<FileCoverageReport> expected = parser.parse(html.toFile());
+		List<FileCoverageReport> actual = parser.parse(zip.toFile());
+
+		Assertions.assertFalse(actual.isEmpty());
+		Assertions.assertEquals(expected, actual);
+		Assertions.assertFalse(Files.exists(Paths.get("unzipTemp")));
+	}
+
+	@Test
+	public void parallelDirectoryParsing(@TempDir Path dir) throws Exception {
+		Path source = Paths.get(getClass().getClassLoader().getResource("reports/html/com.naver.nid.cover.github/GithubCommentManager.java.html").toURI());
+		for (int module = 0; module < 4; module++) {
+			for (int pkg = 0; pkg < 5; pkg++) {
+				Path pkgDir = Files.createDirectories(dir.resolve("module" + module).resolve("html").resolve("com.naver.m" + module + ".p" + pkg));
+				for (int file = 0; file < 10; file++) {
+					Files.copy(source, pkgDir.resolve("Source" + file + ".java.html"));
+				}
+				Files.write(pkgDir.resolve("index.html"), new byte[0]);
+			}
+		}
+
+		Comparator<FileCoverageReport> byName = Comparator.comparing(FileCoverageReport::getFileName);
+		List<FileCoverageReport> expected = new JacocoHtmlReportParser(file -> file.getName().endsWith(".java.html"))
+				.parse(dir.toFile()).stream().sorted(byName).collect(Collectors.toList());
+		List<FileCoverageReport> actual = new JacocoHtmlReportParser(file -> file.getName().endsWith(".java.html"), 4)
+				.parse(dir.toFile(), path -> !path.contains("p4/")).stream().sorted(byName).collect(Collectors.toList());
+
+		Assertions.assertEquals(200, expected.size());
+		Assertions.assertEquals(expected.stream().filter(r -> !r.getFileName().contains("p4/")).collect(Collectors.toList()), actual);
+	}
+}
@@ -0,0 +1,39 @@
+package com.naver.nid.cover.jacoco;
+
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.LineCoverage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JacocoHtmlSourceScannerTest {
+
+	@Test
+	public void scanLineSpans() {
+		String html = "<html><body><div class=\"breadcrumb\"><span class=\"info\" id=\"L1\">Sessions</span>" +
+				"<span class=\"el_source\">Test.java</span></div>" +
+				"<pre class=\"source lang-java linenums\">package test;\n" +
+				"\n" +
+				"<span class=\"fc\" id=\"L3\">class Test {</span>\n" +
+				"<span class=\"fc bfc\" id=\"L4\" title=\"All 2 branches covered.\">\tif (a &lt; b) {</span>\n" +
+				"<span id='L5' class='pc bpc' title=\"1 of 2 branches missed.\">\tif (a > b) {</span>\n" +
+				"<span class=\"nc\" id=\"L6\">\t\treturn;</span>\n" +
+				"<span class=\"bnc\" id=\"L7\">\t\t// span without fc, nc, pc</span>\n" +
+				"<span class=\"fc\" id=\"Lx\">}</span>\n" +
+				"</pre><span class=\"nc\" id=\"L9\"></span></body></html>";
+
+		LineCoverage coverage = JacocoHtmlSourceScanner.scan(html.getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(3, coverage.getFirstLine());
+		assertSame(CoverageStatus.NOTHING, coverage.getStatus(1));
+		assertSame(CoverageStatus.COVERED, coverage.getStatus(3));
+		assertSame(CoverageStatus.COVERED, coverage.getStatus(4));
+		assertSame(CoverageStatus.CONDITION, coverage.getStatus(5));
+		assertSame(CoverageStatus.UNCOVERED, coverage.getStatus(6));
+		assertSame(CoverageStatus.NOTHING, coverage.getStatus(7));
+		assertSame(CoverageStatus.NOTHING, coverage.getStatus(9));
+	}
+}
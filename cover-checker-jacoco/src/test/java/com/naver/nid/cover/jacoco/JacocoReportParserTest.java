@@ -1,6 +1,17 @@
 package com.naver.nid.cover.jacoco;
 
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class JacocoReportParserTest {
 
@@ -15,4 +26,19 @@ class JacocoReportParserTest {
 		new JacocoXmlReportParserTest().xmlFileParseTest(new JacocoReportParser());
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testGzipXmlParserTest(@TempDir Path dir) throws Exception {
+		File report = new File(getClass().getClassLoader().getResource("reports/jacoco.xml").toURI());
+		Path compressed = dir.resolve("jacoco.report"); // 확장자가 아닌 내용으로 판단한다.
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+			Files.copy(report.toPath(), out);
+		}
+
+		List<FileCoverageReport> expected = new JacocoReportParser().parse(report);
+		List<FileCoverageReport> actual = new JacocoReportParser().parse(compressed.toFile());
+
+		assertEquals(38, actual.size());
+		assertEquals(expected, actual);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.naver.nid.cover.jacoco;
+
+import com.naver.nid.cover.parser.coverage.XmlCoverageReportParser;
+import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JacocoXmlPullParserTest {
+
+	@Test
+	public void xmlFileParse() {
+		new JacocoXmlReportParserTest().xmlFileParseTest(new JacocoXmlPullParser());
+	}
+
+	@Test
+	public void sameAsSaxParser() throws Exception {
+		File report = new File(getClass().getClassLoader().getResource("reports/jacoco.xml").toURI());
+		Predicate<String> filter = f -> !f.contains("/github/");
+
+		assertEquals(sorted(new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new).parse(report, filter)),
+				sorted(new JacocoXmlPullParser().parse(report, filter)));
+	}
+
+	@Test
+	public void syntaxVariants(@TempDir Path dir) throws Exception {
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+				"<!DOCTYPE report PUBLIC \"-//JACOCO//DTD Report 1.1//EN\" \"report.dtd\">\n" +
+				"<report name='a&amp;b'>\n" +
+				"<!-- <package name=\"comment\"> -->\n" +
+				"<package name=\"com/test\">\n" +
+				"  <class name=\"com/test/A\"><method name=\"&lt;init&gt;\" desc=\"a>b\" line=\"1\"/><line nr=\"99\" mi=\"0\" ci=\"1\" mb=\"0\" cb=\"0\"/></class>\n" +
+				"  <class name=\"com/test/Empty\"/>\n" +
+				"  <sourcefile name=\"A&#46;java\">\n" +
+				"    <line nr=\"1\" mi=\"0\" ci=\"3\" mb=\"0\" cb=\"0\"/>\n" +
+				"    <line cb='1' mb='1' ci='2' mi='0' nr='2'/>\n" +
+				"    <line\tnr=\"3\"  mi=\"2\" ci=\"0\" mb=\"0\" cb=\"0\" />\n" +
+				"    <counter type=\"LINE\" missed=\"1\" covered=\"2\"/>\n" +
+				"  </sourcefile>\n" +
+				"  <sourcefile name=\"B.java\"/>\n" +
+				"</package>\n" +
+				"</report>";
+		Path report = dir.resolve("jacoco.xml");
+		Files.write(report, xml.getBytes(StandardCharsets.UTF_8));
+
+		List<FileCoverageReport> expected = sorted(new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new).parse(report.toFile()));
+		List<FileCoverageReport> actual = sorted(new JacocoXmlPullParser().parse(report.toFile()));
+
+		assertEquals(expected, actual);
+		assertEquals(2, actual.size());
+		assertEquals("com/test/A.java", actual.get(0).getFileName());
+		assertSame(CoverageStatus.COVERED, actual.get(0).getLineCoverage().getStatus(1));
+		assertSame(CoverageStatus.CONDITION, actual.get(0).getLineCoverage().getStatus(2));
+		assertSame(CoverageStatus.UNCOVERED, actual.get(0).getLineCoverage().getStatus(3));
+		assertSame(CoverageStatus.NOTHING, actual.get(0).getLineCoverage().getStatus(99));
+	}
+
+	private static List<FileCoverageReport> sorted(List<FileCoverageReport> reports) {
+		return reports.stream()
+				.sorted(Comparator.comparing(FileCoverageReport::getFileName))
+				.collect(Collectors.toList());
+	}
+}
@@ -6,7 +6,11 @@ import com.naver.nid.cover.parser.coverage.model.CoverageStatus;
 import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -15,7 +19,33 @@ public class JacocoXmlReportParserTest {
 
 	@Test
 	public void testJacocoXmlParse() {
-		xmlFileParseTest(new XmlCoverageReportParser(new JacocoXmlCoverageReportHandler()));
+		xmlFileParseTest(new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new));
+	}
+
+	@Test
+	public void testJacocoXmlParseWithFileFilter() throws Exception {
+		File report = new File(getClass().getClassLoader().getResource("reports/jacoco.xml").toURI());
+		List<FileCoverageReport> parsed = new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new)
+				.parse(report, f -> f.endsWith("util/Parameter.java"));
+
+		assertEquals(1, parsed.size());
+		assertEquals("com/naver/nid/cover/util/Parameter.java", parsed.get(0).getFileName());
+		assertSame(CoverageStatus.COVERED, parsed.get(0).getLineCoverage().getStatus(8));
+	}
+
+	@Test
+	public void testConcurrentParse() throws Exception {
+		File report = new File(getClass().getClassLoader().getResource("reports/jacoco.xml").toURI());
+		CoverageReportParser parser = new XmlCoverageReportParser(JacocoXmlCoverageReportHandler::new);
+
+		List<CompletableFuture<List<FileCoverageReport>>> parsed = IntStream.range(0, 16)
+				.mapToObj(i -> CompletableFuture.supplyAsync(() -> parser.parse(report)))
+				.collect(Collectors.toList());
+
+		List<FileCoverageReport> expected = parser.parse(report);
+		for (CompletableFuture<List<FileCoverageReport>> p : parsed) {
+			assertEquals(expected, p.join());
+		}
 	}
 
 	void xmlFileParseTest(CoverageReportParser parser) {
@@ -23,7 +53,6 @@ public class JacocoXmlReportParserTest {
 		assertEquals(38, parsed.size());
 		assertSame(CoverageStatus.COVERED, parsed.stream()
 				.filter(r -> r.getFileName().contains("Parameter"))
-				.findFirst().flatMap(r -> r.getLineCoverageReportList().stream()
-						.filter(lr -> lr.getLineNum() == 8).findFirst()).orElseThrow(AssertionError::new).getStatus());
+				.findFirst().map(r -> r.getLineCoverage().getStatus(8)).orElseThrow(AssertionError::new));
 	}
 }
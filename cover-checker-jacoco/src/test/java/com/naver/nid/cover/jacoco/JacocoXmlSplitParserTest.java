@@ -0,0 +1,57 @@
+package com.naver.nid.cover.jacoco;
+
+import com.naver.nid.cover.parser.coverage.model.FileCoverageReport;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JacocoXmlSplitParserTest {
+
+	@Test
+	public void sameAsPullParser() throws Exception {
+		File report = new File(getClass().getClassLoader().getResource("reports/jacoco.xml").toURI());
+		Predicate<String> filter = f -> !f.contains("/github/");
+
+		// window 경계에 걸친 package 도 찾도록 작은 window 를 사용한다.
+		List<FileCoverageReport> split = new JacocoXmlSplitParser(4, 1000).parse(report, filter);
+
+		assertEquals(sorted(new JacocoXmlPullParser().parse(report, filter)), sorted(split));
+		new JacocoXmlReportParserTest().xmlFileParseTest(new JacocoXmlSplitParser(4));
+	}
+
+	@Test
+	public void splitOnPackage() throws Exception {
+		File report = new File(getClass().getClassLoader().getResource("reports/jacoco.xml").toURI());
+
+		try (FileChannel channel = FileChannel.open(report.toPath(), StandardOpenOption.READ)) {
+			List<long[]> chunks = new JacocoXmlSplitParser(4, 1000).split(channel);
+
+			assertTrue(chunks.size() > 1);
+			assertEquals(channel.size(), chunks.get(chunks.size() - 1)[1]);
+			for (int i = 0; i < chunks.size(); i++) {
+				if (i > 0) assertEquals(chunks.get(i - 1)[1], chunks.get(i)[0]);
+
+				ByteBuffer head = ByteBuffer.allocate("<package ".length());
+				channel.read(head, chunks.get(i)[0]);
+				assertEquals("<package ", new String(head.array(), StandardCharsets.US_ASCII));
+			}
+		}
+	}
+
+	private static List<FileCoverageReport> sorted(List<FileCoverageReport> reports) {
+		return reports.stream()
+				.sorted(Comparator.comparing(FileCoverageReport::getFileName))
+				.collect(Collectors.toList());
+	}
+}